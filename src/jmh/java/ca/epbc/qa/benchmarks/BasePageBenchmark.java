@@ -0,0 +1,72 @@
+package ca.epbc.qa.benchmarks;
+
+import ca.epbc.qa.pages.ElementSnapshot;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the BasePage helpers, including batched versus per-element reads of the result cards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BasePageBenchmark {
+    
+    private static final By RESULTS = By.cssSelector("div.search-results");
+    private static final By RESULT_COUNT = By.id("result-count");
+    private static final By PROGRAM_CARDS = By.cssSelector("div.program-card");
+    private static final By MISSING = By.cssSelector("div.does-not-exist");
+    
+    @Benchmark
+    public WebElement waitForElementVisible(BrowserFixture fixture) {
+        return fixture.page.visible(RESULTS);
+    }
+    
+    @Benchmark
+    public boolean isElementDisplayedPresent(BrowserFixture fixture) {
+        return fixture.page.displayed(RESULTS);
+    }
+    
+    @Benchmark
+    public boolean isElementDisplayedAbsent(BrowserFixture fixture) {
+        return fixture.page.displayed(MISSING);
+    }
+    
+    @Benchmark
+    public boolean[] probeFourLocators(BrowserFixture fixture) {
+        return fixture.page.probe(RESULTS, RESULT_COUNT, PROGRAM_CARDS, MISSING);
+    }
+    
+    @Benchmark
+    public String getElementText(BrowserFixture fixture) {
+        return fixture.page.text(RESULT_COUNT);
+    }
+    
+    @Benchmark
+    public void cardTextsBatched(BrowserFixture fixture, Blackhole blackhole) {
+        for (ElementSnapshot card : fixture.page.extract(PROGRAM_CARDS)) {
+            blackhole.consume(card.getText());
+        }
+    }
+    
+    @Benchmark
+    public void cardTextsPerElement(BrowserFixture fixture, Blackhole blackhole) {
+        List<WebElement> cards = fixture.driver.findElements(PROGRAM_CARDS);
+        for (WebElement card : cards) {
+            blackhole.consume(card.getText());
+        }
+    }
+}
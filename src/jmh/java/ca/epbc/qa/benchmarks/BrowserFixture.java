@@ -0,0 +1,57 @@
+package ca.epbc.qa.benchmarks;
+
+import ca.epbc.qa.pages.BenchmarkPage;
+import ca.epbc.qa.stub.EpbcStandInSite;
+import ca.epbc.qa.utils.DriverFactory;
+import org.openqa.selenium.WebDriver;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Headless Chrome on a stand-in search results page with a small, medium or large DOM
+ */
+@State(Scope.Benchmark)
+public class BrowserFixture {
+    
+    @Param({"small", "medium", "large"})
+    public String domSize;
+    
+    EpbcStandInSite site;
+    WebDriver driver;
+    BenchmarkPage page;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Measure the helpers themselves, not the command latency listener, unless asked otherwise
+        System.setProperty("driver.instrumentation", System.getProperty("driver.instrumentation", "false"));
+        site = new EpbcStandInSite(programCount(domSize), 0, 0);
+        String baseUrl = site.start();
+        driver = DriverFactory.createDriver("chrome", true);
+        // An empty query lists the whole catalogue, one card per program
+        driver.get(baseUrl + "/search?q=");
+        page = new BenchmarkPage(driver);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverFactory.quitDriver();
+        site.stop();
+    }
+    
+    private static int programCount(String domSize) {
+        switch (domSize) {
+            case "small":
+                return 10;
+            case "medium":
+                return 200;
+            case "large":
+                return 2000;
+            default:
+                throw new IllegalArgumentException("Unknown DOM size: " + domSize);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ca.epbc.qa.benchmarks;
+
+import ca.epbc.qa.pages.SmartLocator;
+import org.openqa.selenium.By;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the page objects' original contains()/or XPaths with their CSS and SmartLocator equivalents
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocatorBenchmark {
+    
+    private static final By LEGACY_RESULTS_CONTAINER = By.xpath(
+            "//div[contains(@class, 'search-results') or contains(@class, 'results')]");
+    private static final By CSS_RESULTS_CONTAINER = By.cssSelector("div.search-results");
+    private static final By LEGACY_FILTER_BUTTON = By.xpath(
+            "//button[contains(text(), 'Filter') or contains(text(), 'Filters')]");
+    private static final By ID_FILTER_BUTTON = By.id("filter-toggle");
+    private static final By LEGACY_PROGRAM_CARDS = By.xpath(
+            "//div[contains(@class, 'program') or contains(@class, 'course') or contains(@class, 'result')]");
+    private static final By CSS_PROGRAM_CARDS = By.cssSelector("div[class*='program']");
+    private static final By LEGACY_ADD_TO_LIST = By.xpath(
+            "(//button[contains(text(), 'Add to My List') or contains(text(), 'Add to List') or contains(@class, 'add-to-list')])[1]");
+    private static final By CSS_ADD_TO_LIST = By.cssSelector("button[class*='add-to-list']");
+    private static final By LEGACY_SIGN_IN_LINK = By.xpath(
+            "//a[contains(@href, '/sign-in') or contains(text(), 'Sign In') or contains(text(), 'Log In')]");
+    private static final By CSS_SIGN_IN_LINK = By.cssSelector("a[href*='/sign-in']");
+    
+    private SmartLocator smartProgramCards;
+    
+    @Setup
+    public void setUp(BrowserFixture fixture) {
+        smartProgramCards = fixture.page.smart("programCards",
+                CSS_PROGRAM_CARDS,
+                By.cssSelector("div[class*='course']"),
+                By.cssSelector("div[class*='result']"));
+    }
+    
+    @Benchmark
+    public Object resultsContainerLegacyXPath(BrowserFixture fixture) {
+        return fixture.driver.findElement(LEGACY_RESULTS_CONTAINER);
+    }
+    
+    @Benchmark
+    public Object resultsContainerCss(BrowserFixture fixture) {
+        return fixture.driver.findElement(CSS_RESULTS_CONTAINER);
+    }
+    
+    @Benchmark
+    public Object filterButtonLegacyXPath(BrowserFixture fixture) {
+        return fixture.driver.findElement(LEGACY_FILTER_BUTTON);
+    }
+    
+    @Benchmark
+    public Object filterButtonId(BrowserFixture fixture) {
+        return fixture.driver.findElement(ID_FILTER_BUTTON);
+    }
+    
+    @Benchmark
+    public int programCardsLegacyXPath(BrowserFixture fixture) {
+        return fixture.driver.findElements(LEGACY_PROGRAM_CARDS).size();
+    }
+    
+    @Benchmark
+    public int programCardsCss(BrowserFixture fixture) {
+        return fixture.driver.findElements(CSS_PROGRAM_CARDS).size();
+    }
+    
+    @Benchmark
+    public int programCardsSmartLocator(BrowserFixture fixture) {
+        return fixture.driver.findElements(smartProgramCards).size();
+    }
+    
+    @Benchmark
+    public Object firstAddToListLegacyXPath(BrowserFixture fixture) {
+        return fixture.driver.findElement(LEGACY_ADD_TO_LIST);
+    }
+    
+    @Benchmark
+    public Object firstAddToListCss(BrowserFixture fixture) {
+        return fixture.driver.findElement(CSS_ADD_TO_LIST);
+    }
+    
+    @Benchmark
+    public int signInLinkLegacyXPath(BrowserFixture fixture) {
+        return fixture.driver.findElements(LEGACY_SIGN_IN_LINK).size();
+    }
+    
+    @Benchmark
+    public int signInLinkCss(BrowserFixture fixture) {
+        return fixture.driver.findElements(CSS_SIGN_IN_LINK).size();
+    }
+}
@@ -0,0 +1,41 @@
+package ca.epbc.qa.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Exposes the protected BasePage helpers to the benchmarks
+ */
+public class BenchmarkPage extends BasePage {
+    
+    public BenchmarkPage(WebDriver driver) {
+        super(driver);
+    }
+    
+    public WebElement visible(By locator) {
+        return waitForElementVisible(locator);
+    }
+    
+    public boolean displayed(By locator) {
+        return isElementDisplayed(locator);
+    }
+    
+    public boolean[] probe(By... locators) {
+        return probeDisplayed(locators);
+    }
+    
+    public String text(By locator) {
+        return getElementText(locator);
+    }
+    
+    public List<ElementSnapshot> extract(By locator) {
+        return extractElements(locator);
+    }
+    
+    public SmartLocator smart(String name, By... candidates) {
+        return smartLocator(name, candidates);
+    }
+}
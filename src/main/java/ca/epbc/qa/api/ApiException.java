@@ -0,0 +1,28 @@
+package ca.epbc.qa.api;
+
+/**
+ * Thrown when an EPBC backend call fails or returns an unexpected status
+ */
+public class ApiException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    private final int statusCode;
+    
+    public ApiException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+    
+    public ApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = -1;
+    }
+    
+    /**
+     * Gets the HTTP status of the failed call
+     * @return HTTP status, or -1 if no response was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,167 @@
+package ca.epbc.qa.api;
+
+import ca.epbc.qa.fixtures.SessionSnapshot;
+import ca.epbc.qa.utils.TestUser;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight HTTP client for test fixtures: creates accounts and manages My List entries through the
+ * site's backend endpoints instead of driving the browser. Each client holds the cookies of one session.
+ * Endpoint paths can be overridden with the api.path.* system properties.
+ */
+public class EpbcApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(EpbcApiClient.class);
+    private static final Json JSON = new Json();
+    
+    private final String baseUrl;
+    private final CookieManager cookies = new CookieManager();
+    private final HttpClient http;
+    
+    public EpbcApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+    
+    /**
+     * Registers a new account; the client is signed in as that user afterwards
+     * @param user Account to create
+     */
+    public void createAccount(TestUser user) {
+        send("POST", path("register", "/api/account/register"), Map.of(
+                "firstName", user.getFirstName(),
+                "lastName", user.getLastName(),
+                "email", user.getEmail(),
+                "password", user.getPassword()));
+        logger.info("Created account {} via API", user.getEmail());
+    }
+    
+    /**
+     * Signs in with existing credentials
+     * @param user Account to sign in as
+     */
+    public void signIn(TestUser user) {
+        send("POST", path("signIn", "/api/account/sign-in"),
+                Map.of("email", user.getEmail(), "password", user.getPassword()));
+    }
+    
+    /**
+     * Searches the program catalogue
+     * @param query Search term
+     * @return Matching programs in result order
+     */
+    public List<ProgramSummary> searchPrograms(String query) {
+        String encoded = URLEncoder.encode(query, StandardCharsets.UTF_8);
+        return toPrograms(send("GET", path("search", "/api/programs") + "?q=" + encoded, null));
+    }
+    
+    /**
+     * Gets the signed-in user's My List
+     * @return Saved programs
+     */
+    public List<ProgramSummary> getMyList() {
+        return toPrograms(send("GET", path("myList", "/api/my-list"), null));
+    }
+    
+    /**
+     * Adds a program to the signed-in user's My List
+     * @param programId Program identifier
+     */
+    public void addToMyList(String programId) {
+        send("POST", path("myList", "/api/my-list"), Map.of("programId", programId));
+    }
+    
+    /**
+     * Removes a program from the signed-in user's My List
+     * @param programId Program identifier
+     */
+    public void removeFromMyList(String programId) {
+        send("DELETE", path("myList", "/api/my-list") + "/" + URLEncoder.encode(programId, StandardCharsets.UTF_8), null);
+    }
+    
+    /**
+     * Converts this client's cookies into a snapshot that can be restored into a browser
+     * @param user User the session belongs to
+     * @return SessionSnapshot for the site origin
+     */
+    public SessionSnapshot toSessionSnapshot(TestUser user) {
+        List<Cookie> browserCookies = new ArrayList<>();
+        for (HttpCookie cookie : cookies.getCookieStore().get(URI.create(baseUrl))) {
+            Date expiry = cookie.getMaxAge() > 0 ? Date.from(Instant.now().plusSeconds(cookie.getMaxAge())) : null;
+            browserCookies.add(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                    .path(cookie.getPath() == null ? "/" : cookie.getPath())
+                    .expiresOn(expiry)
+                    .isSecure(cookie.getSecure())
+                    .isHttpOnly(cookie.isHttpOnly())
+                    .build());
+        }
+        return new SessionSnapshot(user, baseUrl, browserCookies, Collections.emptyMap(), Collections.emptyMap(), Instant.now());
+    }
+    
+    private Object send(String method, String path, Map<String, Object> body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(JSON.toJson(body)));
+        }
+        
+        HttpResponse<String> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new ApiException(method + " " + path + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(method + " " + path + " interrupted", e);
+        }
+        
+        if (response.statusCode() / 100 != 2) {
+            throw new ApiException(method + " " + path + " returned " + response.statusCode() + ": " + response.body(),
+                    response.statusCode());
+        }
+        String text = response.body();
+        return text == null || text.isBlank() ? null : JSON.toType(text, Object.class);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<ProgramSummary> toPrograms(Object json) {
+        List<ProgramSummary> programs = new ArrayList<>();
+        if (json instanceof List) {
+            for (Object item : (List<Object>) json) {
+                programs.add(ProgramSummary.fromJson((Map<String, Object>) item));
+            }
+        }
+        return programs;
+    }
+    
+    private static String path(String endpoint, String defaultPath) {
+        return System.getProperty("api.path." + endpoint, defaultPath);
+    }
+}
@@ -0,0 +1,49 @@
+package ca.epbc.qa.api;
+
+import java.util.Map;
+
+/**
+ * Program as returned by the search and My List endpoints
+ */
+public class ProgramSummary {
+    private final String programId;
+    private final String name;
+    private final String institution;
+    
+    public ProgramSummary(String programId, String name, String institution) {
+        this.programId = programId;
+        this.name = name;
+        this.institution = institution;
+    }
+    
+    static ProgramSummary fromJson(Map<String, Object> json) {
+        return new ProgramSummary(String.valueOf(json.get("programId")),
+                String.valueOf(json.get("name")),
+                String.valueOf(json.get("institution")));
+    }
+    
+    /**
+     * Converts the program to its JSON shape
+     * @return Map with programId, name and institution
+     */
+    public Map<String, Object> toJson() {
+        return Map.of("programId", programId, "name", name, "institution", institution);
+    }
+    
+    public String getProgramId() {
+        return programId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getInstitution() {
+        return institution;
+    }
+    
+    @Override
+    public String toString() {
+        return name + " (" + institution + ", " + programId + ")";
+    }
+}
@@ -0,0 +1,178 @@
+package ca.epbc.qa.fixtures;
+
+import ca.epbc.qa.api.ApiException;
+import ca.epbc.qa.api.EpbcApiClient;
+import ca.epbc.qa.api.ProgramSummary;
+import ca.epbc.qa.pages.HomePage;
+import ca.epbc.qa.pages.MyListPage;
+import ca.epbc.qa.pages.SignInPage;
+import ca.epbc.qa.utils.TestDataGenerator;
+import ca.epbc.qa.utils.TestUser;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of pre-authenticated accounts. Each account is registered through the UI once, snapshotted,
+ * and then restored into other drivers in a few calls. An account is leased to one worker at a time,
+ * so parallel tests never share a user, and every lease starts with an empty My List: with fixtures.api
+ * the list is emptied over HTTP before the account goes back into the pool, otherwise through the browser
+ * and only when the test reports that it changed the list. Snapshots older than session.ttlMinutes
+ * (default 30), or that no longer sign the user in, are refreshed by signing in again.
+ */
+public class AuthenticatedSessionPool {
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticatedSessionPool.class);
+    
+    private final String baseUrl;
+    private final Duration timeToLive;
+    private final boolean clearViaApi;
+    private final ConcurrentLinkedQueue<SessionSnapshot> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicLong registrations = new AtomicLong();
+    private final AtomicLong restores = new AtomicLong();
+    private final AtomicLong reauthentications = new AtomicLong();
+    private final AtomicLong discards = new AtomicLong();
+    
+    public AuthenticatedSessionPool(String baseUrl) {
+        this(baseUrl, Duration.ofMinutes(Long.getLong("session.ttlMinutes", 30L)), Boolean.getBoolean("fixtures.api"));
+    }
+    
+    public AuthenticatedSessionPool(String baseUrl, Duration timeToLive, boolean clearViaApi) {
+        this.baseUrl = baseUrl;
+        this.timeToLive = timeToLive;
+        this.clearViaApi = clearViaApi;
+    }
+    
+    /**
+     * Leases an account and signs the driver in as that user. The driver is left on the homepage.
+     * @param driver Fresh or pooled WebDriver
+     * @return Snapshot of the leased account; hand it back with {@link #release(WebDriver, SessionSnapshot, boolean)}
+     */
+    public SessionSnapshot acquire(WebDriver driver) {
+        long start = System.nanoTime();
+        SessionSnapshot snapshot = idle.poll();
+        if (snapshot == null) {
+            snapshot = register(driver, TestDataGenerator.newUser());
+        } else if (snapshot.isExpired(timeToLive) || !restore(driver, snapshot)) {
+            snapshot = reauthenticate(driver, snapshot.getUser());
+        }
+        logger.info("Session for {} ready in {} ms", snapshot.getUser(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return snapshot;
+    }
+    
+    /**
+     * Empties the leased account's My List if needed and returns the account to the pool. An account whose
+     * list cannot be cleared, e.g. because the test signed out or the browser is gone, is dropped instead.
+     * Call this before the driver is released, while it is still signed in as the leased user.
+     * @param driver WebDriver the account was leased to
+     * @param snapshot Snapshot returned by {@link #acquire(WebDriver)}
+     * @param myListChanged Whether the test added to the account's My List; without fixtures.api an unchanged
+     *                      list is not cleared, so the account goes back without any browser work
+     */
+    public void release(WebDriver driver, SessionSnapshot snapshot, boolean myListChanged) {
+        if (snapshot == null) {
+            return;
+        }
+        boolean cleared;
+        if (clearViaApi) {
+            cleared = clearMyListViaApi(snapshot);
+        } else {
+            cleared = !myListChanged || clearMyList(driver, snapshot);
+        }
+        if (cleared) {
+            idle.add(snapshot);
+        } else {
+            discards.incrementAndGet();
+            logger.warn("Dropping {} from the pool: its My List could not be cleared", snapshot.getUser());
+        }
+    }
+    
+    /**
+     * Gets a one-line summary of how sessions were obtained
+     * @return Metrics summary
+     */
+    public String metricsSummary() {
+        return String.format("registrations=%d, restores=%d, reauthentications=%d, discards=%d, idleAccounts=%d",
+                registrations.get(), restores.get(), reauthentications.get(), discards.get(), idle.size());
+    }
+    
+    private boolean restore(WebDriver driver, SessionSnapshot snapshot) {
+        snapshot.restoreInto(driver);
+        HomePage homePage = new HomePage(driver);
+        homePage.navigateToHomePage(baseUrl);
+        if (homePage.isSignedIn()) {
+            restores.incrementAndGet();
+            return true;
+        }
+        logger.info("Snapshot for {} no longer authenticates", snapshot.getUser());
+        return false;
+    }
+    
+    private boolean clearMyList(WebDriver driver, SessionSnapshot snapshot) {
+        try {
+            HomePage homePage = new HomePage(driver);
+            homePage.navigateToHomePage(baseUrl);
+            if (!homePage.isSignedIn()) {
+                return false;
+            }
+            MyListPage myListPage = new MyListPage(driver);
+            myListPage.navigateToMyList();
+            return myListPage.clearMyList();
+        } catch (RuntimeException e) {
+            logger.warn("Could not clear My List for {}: {}", snapshot.getUser(), e.getMessage());
+            return false;
+        }
+    }
+    
+    private boolean clearMyListViaApi(SessionSnapshot snapshot) {
+        try {
+            EpbcApiClient api = new EpbcApiClient(baseUrl);
+            api.signIn(snapshot.getUser());
+            for (ProgramSummary program : api.getMyList()) {
+                api.removeFromMyList(program.getProgramId());
+            }
+            return true;
+        } catch (ApiException e) {
+            logger.warn("Could not clear My List for {} via API: {}", snapshot.getUser(), e.getMessage());
+            return false;
+        }
+    }
+    
+    private SessionSnapshot register(WebDriver driver, TestUser user) {
+        HomePage homePage = new HomePage(driver);
+        homePage.navigateToHomePage(baseUrl);
+        SignInPage signInPage = homePage.clickSignIn();
+        signInPage.createNewAccount(user);
+        registrations.incrementAndGet();
+        return captureOnHomePage(driver, user, signInPage);
+    }
+    
+    private SessionSnapshot reauthenticate(WebDriver driver, TestUser user) {
+        driver.manage().deleteAllCookies();
+        HomePage homePage = new HomePage(driver);
+        homePage.navigateToHomePage(baseUrl);
+        SignInPage signInPage = homePage.clickSignIn();
+        signInPage.signInWithCredentials(user.getEmail(), user.getPassword());
+        reauthentications.incrementAndGet();
+        return captureOnHomePage(driver, user, signInPage);
+    }
+    
+    private SessionSnapshot captureOnHomePage(WebDriver driver, TestUser user, SignInPage submitted) {
+        // Navigating away before the submission completes can abort the sign-in request
+        if (!submitted.isSignInSuccessful()) {
+            throw new IllegalStateException("Could not authenticate " + user + " against " + baseUrl
+                    + ": the form stayed on " + submitted.getCurrentUrl());
+        }
+        HomePage homePage = new HomePage(driver);
+        homePage.navigateToHomePage(baseUrl);
+        if (!homePage.isSignedIn()) {
+            throw new IllegalStateException("Could not authenticate " + user + " against " + baseUrl);
+        }
+        return SessionSnapshot.capture(driver, user);
+    }
+}
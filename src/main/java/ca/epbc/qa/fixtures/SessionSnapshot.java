@@ -0,0 +1,141 @@
+package ca.epbc.qa.fixtures;
+
+import ca.epbc.qa.utils.TestUser;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Captured authentication state of a signed-in user: cookies plus local and session storage for one origin
+ */
+public class SessionSnapshot {
+    private static final String READ_STORAGE_SCRIPT =
+            "function dump(storage) {" +
+            "  var values = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); values[key] = storage.getItem(key); }" +
+            "  return values;" +
+            "}" +
+            "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];" +
+            "Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });" +
+            "Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });";
+    
+    private final TestUser user;
+    private final String origin;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final Instant capturedAt;
+    
+    public SessionSnapshot(TestUser user, String origin, List<Cookie> cookies,
+                           Map<String, String> localStorage, Map<String, String> sessionStorage, Instant capturedAt) {
+        this.user = user;
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableList(new ArrayList<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+        this.capturedAt = capturedAt;
+    }
+    
+    /**
+     * Captures the session of the page currently open in the driver
+     * @param driver WebDriver signed in as the user
+     * @param user User the session belongs to
+     * @return SessionSnapshot for the current origin
+     */
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot capture(WebDriver driver, TestUser user) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        return new SessionSnapshot(user, originOf(driver.getCurrentUrl()),
+                new ArrayList<>(driver.manage().getCookies()),
+                toStringMap((Map<String, Object>) storage.get("local")),
+                toStringMap((Map<String, Object>) storage.get("session")),
+                Instant.now());
+    }
+    
+    /**
+     * Restores the session into a driver. The driver is left on a lightweight resource of the origin
+     * (session.restore.path, default /favicon.ico) so the caller can navigate wherever the test starts.
+     * @param driver Fresh or pooled WebDriver
+     */
+    public void restoreInto(WebDriver driver) {
+        driver.get(origin + System.getProperty("session.restore.path", "/favicon.ico"));
+        WebDriver.Options options = driver.manage();
+        options.deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            options.addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage, sessionStorage);
+    }
+    
+    /**
+     * Checks whether the snapshot is older than the time-to-live or holds a cookie that has already expired
+     * @param timeToLive Maximum snapshot age
+     * @return true if the snapshot should not be restored without re-authenticating
+     */
+    public boolean isExpired(Duration timeToLive) {
+        Instant now = Instant.now();
+        if (capturedAt.plus(timeToLive).isBefore(now)) {
+            return true;
+        }
+        Date nowDate = Date.from(now);
+        return cookies.stream().anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().before(nowDate));
+    }
+    
+    public TestUser getUser() {
+        return user;
+    }
+    
+    public String getOrigin() {
+        return origin;
+    }
+    
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+    
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+    
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+    
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+    
+    /**
+     * Gets the scheme, host and port of a URL
+     * @param url Absolute URL
+     * @return Origin without a trailing slash
+     */
+    static String originOf(String url) {
+        String[] parts = url.split("/");
+        return parts[0] + "//" + parts[2];
+    }
+    
+    private static Map<String, String> toStringMap(Map<String, Object> values) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (values != null) {
+            values.forEach((key, value) -> result.put(key, String.valueOf(value)));
+        }
+        return result;
+    }
+    
+    @Override
+    public String toString() {
+        return "SessionSnapshot{" + user + " @ " + origin + ", " + cookies.size() + " cookies, captured " + capturedAt + "}";
+    }
+}
@@ -0,0 +1,189 @@
+package ca.epbc.qa.load;
+
+import ca.epbc.qa.stub.EpbcStandInSite;
+import ca.epbc.qa.utils.BrowserProfiles;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load mode: runs concurrent headless virtual users through the search and My List workflow using the page
+ * objects, then reports throughput (workflows per minute) and step latency percentiles for the steady-state
+ * window. Virtual users start evenly spread over the ramp-up, so the steady state runs at full concurrency.
+ * Configured with the load.* system properties plus baseUrl, browser and headless; baseUrl defaults to
+ * "local", which starts the embedded stand-in site.
+ */
+public class LoadRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+    static final String STEP_HOME = "home";
+    static final String STEP_SEARCH = "search";
+    static final String STEP_FILTER = "filter";
+    static final String STEP_ADD = "addToMyList";
+    static final String STEP_MY_LIST = "myList";
+    static final List<String> STEPS = Arrays.asList(STEP_HOME, STEP_SEARCH, STEP_FILTER, STEP_ADD, STEP_MY_LIST);
+
+    private final Settings settings;
+
+    public LoadRunner(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) {
+        // Per-command and per-transition instrumentation would be measured as load; opt back in explicitly
+        System.setProperty("driver.instrumentation", System.getProperty("driver.instrumentation", "false"));
+        System.setProperty("perf.capture", System.getProperty("perf.capture", "false"));
+
+        Settings settings = Settings.fromSystemProperties();
+        EpbcStandInSite standInSite = null;
+        if ("local".equalsIgnoreCase(settings.baseUrl)) {
+            standInSite = EpbcStandInSite.fromSystemProperties();
+            settings = settings.withBaseUrl(standInSite.start());
+        }
+        BrowserProfiles.setWarmUpUrl(settings.baseUrl);
+        try {
+            LoadStats stats = new LoadRunner(settings).run();
+            writeReport(settings, stats);
+        } finally {
+            if (standInSite != null) {
+                standInSite.stop();
+            }
+        }
+    }
+
+    /**
+     * Runs the ramp-up and steady state and waits for every virtual user to finish its browser
+     * @return Statistics of the steady-state window
+     */
+    public LoadStats run() {
+        LoadStats stats = new LoadStats(STEPS);
+        long start = System.currentTimeMillis();
+        long rampUpMillis = TimeUnit.SECONDS.toMillis(settings.rampUpSeconds);
+        long steadyStart = start + rampUpMillis;
+        long end = steadyStart + TimeUnit.SECONDS.toMillis(settings.steadySeconds);
+        logger.info("Load run against {}: {} virtual users, {} s ramp-up, {} s steady state, {} ms think time",
+                settings.baseUrl, settings.users, settings.rampUpSeconds, settings.steadySeconds, settings.thinkTimeMillis);
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.users);
+        for (int i = 0; i < settings.users; i++) {
+            long startAt = start + rampUpMillis * i / settings.users;
+            executor.execute(new VirtualUser(i + 1, settings, stats, startAt, steadyStart, end));
+        }
+        executor.shutdown();
+        try {
+            // Leave time for the last iterations to stop and the browsers to quit
+            if (!executor.awaitTermination(end - System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2),
+                    TimeUnit.MILLISECONDS)) {
+                logger.warn("Virtual users did not stop in time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        return stats;
+    }
+
+    /**
+     * Logs the throughput and step latency table and writes them to load.report.file
+     * (default target/load-report.json)
+     * @param settings Settings of the run
+     * @param stats Statistics of the run
+     */
+    static void writeReport(Settings settings, LoadStats stats) {
+        double minutes = settings.steadySeconds / 60.0;
+        double throughput = minutes > 0 ? stats.getWorkflowsCompleted() / minutes : 0;
+        List<Map<String, Object>> rows = stats.rows();
+        logger.info("Steady state: {} workflows completed, {} failed, {} workflows/min with {} virtual users",
+                stats.getWorkflowsCompleted(), stats.getWorkflowsFailed(), String.format("%.1f", throughput), settings.users);
+        String format = "%-12s %7s %6s %8s %8s %8s %8s %8s";
+        logger.info(String.format(format, "Step", "Count", "Errors", "p50", "p90", "p95", "p99", "Max"));
+        for (Map<String, Object> row : rows) {
+            logger.info(String.format(format, row.get("step"), row.get("count"), row.get("errors"), row.get("p50Millis"),
+                    row.get("p90Millis"), row.get("p95Millis"), row.get("p99Millis"), row.get("maxMillis")));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("baseUrl", settings.baseUrl);
+        report.put("virtualUsers", settings.users);
+        report.put("rampUpSeconds", settings.rampUpSeconds);
+        report.put("steadySeconds", settings.steadySeconds);
+        report.put("thinkTimeMillis", settings.thinkTimeMillis);
+        report.put("workflowsCompleted", stats.getWorkflowsCompleted());
+        report.put("workflowsFailed", stats.getWorkflowsFailed());
+        report.put("workflowsPerMinute", Math.round(throughput * 10) / 10.0);
+        report.put("steps", rows);
+        Path file = Paths.get(System.getProperty("load.report.file", "target/load-report.json"));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, new Json().toJson(report));
+            logger.info("Wrote load report to {}", file);
+        } catch (IOException e) {
+            logger.warn("Could not write load report to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Load run settings
+     */
+    public static final class Settings {
+        final String baseUrl;
+        final String browser;
+        final boolean headless;
+        final int users;
+        final long rampUpSeconds;
+        final long steadySeconds;
+        final long thinkTimeMillis;
+        final String searchTerm;
+
+        public Settings(String baseUrl, String browser, boolean headless, int users, long rampUpSeconds,
+                        long steadySeconds, long thinkTimeMillis, String searchTerm) {
+            if (users < 1) {
+                throw new IllegalArgumentException("At least one virtual user is required");
+            }
+            this.baseUrl = baseUrl;
+            this.browser = browser;
+            this.headless = headless;
+            this.users = users;
+            this.rampUpSeconds = rampUpSeconds;
+            this.steadySeconds = steadySeconds;
+            this.thinkTimeMillis = thinkTimeMillis;
+            this.searchTerm = searchTerm;
+        }
+
+        /**
+         * Reads load.users (default 4), load.rampUpSeconds (30), load.steadySeconds (120),
+         * load.thinkTimeMillis (1000), load.searchTerm (UBC), baseUrl (local), browser (chrome) and headless (true)
+         * @return Settings
+         */
+        public static Settings fromSystemProperties() {
+            return new Settings(System.getProperty("baseUrl", "local"),
+                    System.getProperty("browser", "chrome"),
+                    Boolean.parseBoolean(System.getProperty("headless", "true")),
+                    Integer.getInteger("load.users", 4),
+                    Long.getLong("load.rampUpSeconds", 30L),
+                    Long.getLong("load.steadySeconds", 120L),
+                    Long.getLong("load.thinkTimeMillis", 1000L),
+                    System.getProperty("load.searchTerm", "UBC"));
+        }
+
+        Settings withBaseUrl(String url) {
+            return new Settings(url, browser, headless, users, rampUpSeconds, steadySeconds, thinkTimeMillis, searchTerm);
+        }
+    }
+}
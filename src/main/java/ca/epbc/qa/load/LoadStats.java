@@ -0,0 +1,100 @@
+package ca.epbc.qa.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Step latencies, errors and completed workflows of one load run, recorded from every virtual user.
+ * Only the steady-state window is recorded; ramp-up iterations warm the browsers and the site up.
+ */
+public class LoadStats {
+    private final List<String> stepOrder;
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+    private final LongAdder workflowsCompleted = new LongAdder();
+    private final LongAdder workflowsFailed = new LongAdder();
+
+    /**
+     * Creates empty statistics
+     * @param stepOrder Step names in workflow order, used to order the report
+     */
+    public LoadStats(List<String> stepOrder) {
+        this.stepOrder = new ArrayList<>(stepOrder);
+        stepOrder.forEach(name -> steps.put(name, new Step()));
+    }
+
+    /**
+     * Records a successful step
+     * @param step Step name
+     * @param millis Step latency, excluding think time
+     */
+    public void recordStep(String step, long millis) {
+        step(step).histogram.recordValue(Math.max(1, millis));
+    }
+
+    /**
+     * Records a failed step
+     * @param step Step name
+     */
+    public void recordError(String step) {
+        step(step).errors.increment();
+    }
+
+    /**
+     * Records the end of a workflow iteration
+     * @param completed Whether every step succeeded
+     */
+    public void recordWorkflow(boolean completed) {
+        (completed ? workflowsCompleted : workflowsFailed).increment();
+    }
+
+    public long getWorkflowsCompleted() {
+        return workflowsCompleted.sum();
+    }
+
+    public long getWorkflowsFailed() {
+        return workflowsFailed.sum();
+    }
+
+    /**
+     * Gets one row per step in workflow order
+     * @return Rows with count, errors, p50, p90, p95, p99 and max (ms)
+     */
+    public List<Map<String, Object>> rows() {
+        List<Map<String, Object>> rows = new ArrayList<>(stepOrder.size());
+        for (String name : stepOrder) {
+            Step step = steps.get(name);
+            Histogram snapshot = step.histogram.copy();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("step", name);
+            row.put("count", snapshot.getTotalCount());
+            row.put("errors", step.errors.sum());
+            row.put("p50Millis", snapshot.getValueAtPercentile(50));
+            row.put("p90Millis", snapshot.getValueAtPercentile(90));
+            row.put("p95Millis", snapshot.getValueAtPercentile(95));
+            row.put("p99Millis", snapshot.getValueAtPercentile(99));
+            row.put("maxMillis", snapshot.getMaxValue());
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Step step(String name) {
+        Step step = steps.get(name);
+        if (step == null) {
+            throw new IllegalArgumentException("Unknown load step: " + name);
+        }
+        return step;
+    }
+
+    private static final class Step {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
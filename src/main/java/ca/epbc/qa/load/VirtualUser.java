@@ -0,0 +1,185 @@
+package ca.epbc.qa.load;
+
+import ca.epbc.qa.pages.HomePage;
+import ca.epbc.qa.pages.MyListPage;
+import ca.epbc.qa.pages.ProgramRecord;
+import ca.epbc.qa.pages.SearchResultsPage;
+import ca.epbc.qa.pages.SignInPage;
+import ca.epbc.qa.utils.DriverFactory;
+import ca.epbc.qa.utils.TestDataGenerator;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated visitor: its own headless browser and newly registered account, repeating
+ * home → search → filter → add to My List → My List (removing the program again) until the run ends
+ */
+class VirtualUser implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualUser.class);
+
+    private final int number;
+    private final LoadRunner.Settings settings;
+    private final LoadStats stats;
+    private final long startAtMillis;
+    private final long steadyStartMillis;
+    private final long endAtMillis;
+    private WebDriver driver;
+
+    VirtualUser(int number, LoadRunner.Settings settings, LoadStats stats,
+                long startAtMillis, long steadyStartMillis, long endAtMillis) {
+        this.number = number;
+        this.settings = settings;
+        this.stats = stats;
+        this.startAtMillis = startAtMillis;
+        this.steadyStartMillis = steadyStartMillis;
+        this.endAtMillis = endAtMillis;
+    }
+
+    @Override
+    public void run() {
+        Thread.currentThread().setName("vu-" + number);
+        if (!pauseUntil(startAtMillis)) {
+            return;
+        }
+        try {
+            driver = DriverFactory.createDriver(settings.browser, settings.headless);
+            HomePage homePage = new HomePage(driver);
+            homePage.navigateToHomePage(settings.baseUrl);
+            SignInPage signInPage = homePage.clickSignIn();
+            signInPage.createNewAccount(TestDataGenerator.newUser());
+            // The first iteration navigates away, which would abort a registration still in flight
+            if (!signInPage.isSignInSuccessful()) {
+                throw new IllegalStateException("registration did not complete on " + signInPage.getCurrentUrl());
+            }
+            homePage.navigateToHomePage(settings.baseUrl);
+            if (!homePage.isSignedIn()) {
+                throw new IllegalStateException("not signed in after registering");
+            }
+            logger.info("Virtual user {} signed in and running", number);
+            while (System.currentTimeMillis() < endAtMillis) {
+                iteration();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Virtual user {} stopped: {}", number, e.getMessage());
+        } finally {
+            DriverFactory.quitDriver();
+        }
+    }
+
+    private void iteration() {
+        long iterationStart = System.currentTimeMillis();
+        String step = LoadRunner.STEP_HOME;
+        try {
+            HomePage homePage = new HomePage(driver);
+            long start = System.nanoTime();
+            homePage.navigateToHomePage(settings.baseUrl);
+            if (!finished(step, start) || !think()) {
+                return;
+            }
+
+            step = LoadRunner.STEP_SEARCH;
+            start = System.nanoTime();
+            SearchResultsPage searchResultsPage = homePage.performSearch(settings.searchTerm);
+            if (!finished(step, start) || !think()) {
+                return;
+            }
+
+            step = LoadRunner.STEP_FILTER;
+            start = System.nanoTime();
+            searchResultsPage.applyAreasOfStudyFilter();
+            searchResultsPage.waitForResultsToSettle();
+            if (!finished(step, start) || !think()) {
+                return;
+            }
+
+            step = LoadRunner.STEP_ADD;
+            start = System.nanoTime();
+            ProgramRecord added = searchResultsPage.addFirstProgram();
+            if (added == null) {
+                failed(step, "no program was added", iterationStart);
+                return;
+            }
+            if (!finished(step, start) || !think()) {
+                return;
+            }
+
+            step = LoadRunner.STEP_MY_LIST;
+            start = System.nanoTime();
+            MyListPage myListPage = searchResultsPage.goToMyList();
+            boolean inList = added.getProgramId() != null
+                    ? myListPage.isProgramIdInMyList(added.getProgramId())
+                    : myListPage.isProgramInMyList(added.getName());
+            if (!inList) {
+                failed(step, "the added program was not in My List", iterationStart);
+                return;
+            }
+            if (!myListPage.removeFirstItem()) {
+                failed(step, "the program could not be removed from My List", iterationStart);
+                return;
+            }
+            finished(step, start);
+            if (inSteadyState(iterationStart) && System.currentTimeMillis() <= endAtMillis) {
+                stats.recordWorkflow(true);
+            }
+            think();
+        } catch (RuntimeException e) {
+            // Counted as an error of the step; the next iteration starts over from the homepage
+            failed(step, e.getClass().getSimpleName(), iterationStart);
+        }
+    }
+
+    /**
+     * Records a completed step
+     * @return false if the run has ended
+     */
+    private boolean finished(String step, long startNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        if (inSteadyState(System.currentTimeMillis() - millis)) {
+            stats.recordStep(step, millis);
+        }
+        return System.currentTimeMillis() < endAtMillis;
+    }
+
+    private void failed(String step, String reason, long iterationStart) {
+        logger.warn("Virtual user {}: step {} failed: {}", number, step, reason);
+        if (inSteadyState(iterationStart)) {
+            stats.recordError(step);
+            stats.recordWorkflow(false);
+        }
+    }
+
+    private boolean inSteadyState(long atMillis) {
+        return atMillis >= steadyStartMillis && atMillis < endAtMillis;
+    }
+
+    /**
+     * Pauses for the think time, randomized to 50-150% so virtual users drift apart
+     * @return false if the run ends during the pause
+     */
+    private boolean think() {
+        long think = settings.thinkTimeMillis;
+        if (think <= 0) {
+            return System.currentTimeMillis() < endAtMillis;
+        }
+        long pause = think / 2 + ThreadLocalRandom.current().nextLong(think + 1);
+        return pauseUntil(Math.min(System.currentTimeMillis() + pause, endAtMillis)) && System.currentTimeMillis() < endAtMillis;
+    }
+
+    private static boolean pauseUntil(long atMillis) {
+        long remaining = atMillis - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(remaining);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,28 +1,55 @@
 package ca.epbc.qa.pages;
 
+import ca.epbc.qa.utils.EventLog;
+import ca.epbc.qa.utils.PerformanceRecorder;
+import ca.epbc.qa.utils.ScriptTransport;
+import ca.epbc.qa.utils.TransitionMetrics;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Base page class containing common functionality for all page objects
  */
 public abstract class BasePage {
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(Long.getLong("timeout", 15L));
+    // Gauges are recorded as sampled at the end of a transition; counters accumulate over the document,
+    // so the start sample is subtracted from them
+    private static final Set<String> CDP_GAUGES = Set.of("Nodes", "JSEventListeners", "JSHeapUsedSize");
+    private static final Set<String> CDP_COUNTERS = Set.of("LayoutCount", "RecalcStyleCount", "LayoutDuration",
+            "RecalcStyleDuration", "ScriptDuration", "TaskDuration");
+    private static final EventLog.EventType PAGE_CREATED = new EventLog.EventType("page.created", EventLog.Level.DEBUG);
+    private static final EventLog.EventType CLICKED = new EventLog.EventType("element.click", EventLog.Level.INFO, "locator");
+    private static final EventLog.EventType TYPED = new EventLog.EventType("element.type", EventLog.Level.INFO, "locator", "text");
+    private static final EventLog.EventType READ_TEXT = new EventLog.EventType("element.text", EventLog.Level.INFO, "locator", "text");
+    private static final Duration READY_TIMEOUT = Duration.ofMillis(Long.getLong("page.ready.timeoutMillis", 15_000L));
+    
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
     protected WebDriver driver;
-    protected WebDriverWait wait;
     
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
         PageFactory.initElements(driver, this);
+        EventLog.log(PAGE_CREATED, this, null);
     }
     
     /**
@@ -31,7 +58,7 @@ public abstract class BasePage {
      * @return WebElement
      */
     protected WebElement waitForElementVisible(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return waitFor("visible", locator, ExpectedConditions.visibilityOfElementLocated(locator));
     }
     
     /**
@@ -40,7 +67,7 @@ public abstract class BasePage {
      * @return WebElement
      */
     protected WebElement waitForElementClickable(By locator) {
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return waitFor("clickable", locator, ExpectedConditions.elementToBeClickable(locator));
     }
     
     /**
@@ -49,7 +76,17 @@ public abstract class BasePage {
      * @return WebElement
      */
     protected WebElement waitForElementPresent(By locator) {
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return waitFor("present", locator, ExpectedConditions.presenceOfElementLocated(locator));
+    }
+    
+    /**
+     * Waits on the shared {@link WaitScheduler} for up to the timeout system property (default 15 seconds).
+     * Drivers are created without an implicit wait, so every check returns at once and the scheduler decides
+     * when to re-check.
+     */
+    private <T> T waitFor(String kind, By locator, ExpectedCondition<T> condition) {
+        return WaitScheduler.until(getClass().getSimpleName() + " " + kind + " " + locator,
+                () -> condition.apply(driver), WAIT_TIMEOUT, condition::toString);
     }
     
     /**
@@ -59,7 +96,7 @@ public abstract class BasePage {
     protected void clickElement(By locator) {
         WebElement element = waitForElementClickable(locator);
         element.click();
-        logger.info("Clicked element: {}", locator);
+        EventLog.log(CLICKED, this, locator);
     }
     
     /**
@@ -71,7 +108,8 @@ public abstract class BasePage {
         WebElement element = waitForElementVisible(locator);
         element.clear();
         element.sendKeys(text);
-        logger.info("Typed '{}' into element: {}", text, locator);
+        // Masked in the event log when the locator looks like a password field
+        EventLog.log(TYPED, this, locator, text);
     }
     
     /**
@@ -82,23 +120,491 @@ public abstract class BasePage {
     protected String getElementText(By locator) {
         WebElement element = waitForElementVisible(locator);
         String text = element.getText();
-        logger.info("Got text '{}' from element: {}", text, locator);
+        EventLog.log(READ_TEXT, this, locator, text);
         return text;
     }
     
     /**
-     * Checks if an element is displayed
+     * Checks if an element is displayed right now, without waiting for it to appear
      * @param locator Element locator
      * @return true if element is displayed, false otherwise
      */
     protected boolean isElementDisplayed(By locator) {
+        return isElementDisplayed(locator, Duration.ZERO);
+    }
+    
+    /**
+     * Checks if an element becomes displayed within the given time budget
+     * @param locator Element locator
+     * @param budget Maximum time to keep probing; zero probes exactly once
+     * @return true if element is displayed, false otherwise
+     */
+    protected boolean isElementDisplayed(By locator, Duration budget) {
+        return probeDisplayed(budget, locator)[0];
+    }
+    
+    /**
+     * Checks several optional locators in a single browser round-trip, without waiting
+     * @param locators Element locators
+     * @return One flag per locator, true where the first match is displayed
+     */
+    protected boolean[] probeDisplayed(By... locators) {
+        return probeDisplayed(Duration.ZERO, locators);
+    }
+    
+    /**
+     * Checks several optional locators, re-probing until at least one is displayed or the budget runs out
+     * @param budget Maximum time to keep probing; zero probes exactly once
+     * @param locators Element locators
+     * @return One flag per locator, true where the first match is displayed
+     */
+    protected boolean[] probeDisplayed(Duration budget, By... locators) {
+        if (budget.isZero() || budget.isNegative()) {
+            return probeOnce(locators);
+        }
+        try {
+            return WaitScheduler.until(getClass().getSimpleName() + " displayed " + Arrays.toString(locators), () -> {
+                boolean[] displayed = probeOnce(locators);
+                for (boolean flag : displayed) {
+                    if (flag) {
+                        return displayed;
+                    }
+                }
+                return null;
+            }, budget, () -> "any of " + Arrays.toString(locators) + " to be displayed");
+        } catch (TimeoutException e) {
+            return new boolean[locators.length];
+        }
+    }
+    
+    private boolean[] probeOnce(By[] locators) {
+        boolean[] displayed = new boolean[locators.length];
+        List<List<List<String>>> specs = new ArrayList<>();
+        List<List<By>> candidates = new ArrayList<>();
+        List<Integer> scripted = new ArrayList<>();
+        for (int i = 0; i < locators.length; i++) {
+            List<By> ordered = locators[i] instanceof SmartLocator
+                    ? ((SmartLocator) locators[i]).orderedCandidates()
+                    : List.of(locators[i]);
+            List<List<String>> locatorSpecs = DomQueries.toSpecs(ordered);
+            if (locatorSpecs == null) {
+                displayed[i] = probeWithDriver(locators[i]);
+            } else {
+                specs.add(locatorSpecs);
+                candidates.add(ordered);
+                scripted.add(i);
+            }
+        }
+        if (specs.isEmpty()) {
+            return displayed;
+        }
+        
+        try {
+            List<?> results = (List<?>) ScriptTransport.executeScript(driver, DomQueries.PROBE_DISPLAYED, specs);
+            for (int i = 0; i < scripted.size(); i++) {
+                List<?> result = (List<?>) results.get(i);
+                int index = scripted.get(i);
+                displayed[index] = Boolean.TRUE.equals(result.get(0));
+                int matched = ((Number) result.get(1)).intValue();
+                if (matched >= 0 && locators[index] instanceof SmartLocator) {
+                    ((SmartLocator) locators[index]).recordHit(candidates.get(i).get(matched));
+                }
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("Scripted probe failed, falling back to driver lookups: {}", e.getMessage());
+            for (int index : scripted) {
+                displayed[index] = probeWithDriver(locators[index]);
+            }
+        }
+        return displayed;
+    }
+    
+    private boolean probeWithDriver(By locator) {
         try {
-            return driver.findElement(locator).isDisplayed();
-        } catch (Exception e) {
+            List<WebElement> elements = driver.findElements(locator);
+            return !elements.isEmpty() && elements.get(0).isDisplayed();
+        } catch (WebDriverException e) {
             return false;
         }
     }
     
+    /**
+     * Captures text, key attributes, visibility and bounding box of every element matching a locator.
+     * Scriptable locators are resolved and read in a single browser round-trip.
+     * @param locator Element locator
+     * @return One snapshot per matching element, in document order
+     */
+    @SuppressWarnings("unchecked")
+    protected List<ElementSnapshot> extractElements(By locator) {
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        List<By> ordered = locator instanceof SmartLocator
+                ? ((SmartLocator) locator).orderedCandidates()
+                : List.of(locator);
+        List<List<String>> specs = DomQueries.toSpecs(ordered);
+        List<Map<String, Object>> records;
+        
+        if (specs != null) {
+            List<Object> result = (List<Object>) ScriptTransport.executeScript(driver, DomQueries.EXTRACT, specs);
+            int matched = ((Number) result.get(0)).intValue();
+            if (matched >= 0 && locator instanceof SmartLocator) {
+                ((SmartLocator) locator).recordHit(ordered.get(matched));
+            }
+            records = (List<Map<String, Object>>) result.get(1);
+        } else {
+            List<WebElement> elements = driver.findElements(locator);
+            if (elements.isEmpty()) {
+                return Collections.emptyList();
+            }
+            records = (List<Map<String, Object>>) executor.executeScript(DomQueries.EXTRACT_ELEMENTS, elements);
+        }
+        
+        List<ElementSnapshot> snapshots = new ArrayList<>(records.size());
+        for (Map<String, Object> record : records) {
+            snapshots.add(ElementSnapshot.fromScript(record));
+        }
+        return snapshots;
+    }
+    
+    /**
+     * Captures the next batch of elements matching a locator. Elements returned by an earlier batch with the same
+     * marker are skipped, so repeated calls walk a growing list once without re-reading what was already seen.
+     * @param locator Element locator
+     * @param marker Identifies the walk; a new marker starts again from the first element
+     * @param limit Maximum number of elements in the batch
+     * @param prune Whether to remove the batch from the DOM instead of tagging it, keeping long lists small
+     * @return Up to limit snapshots, in document order; empty when every match was already seen
+     */
+    @SuppressWarnings("unchecked")
+    protected List<ElementSnapshot> extractBatch(By locator, String marker, int limit, boolean prune) {
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        List<By> ordered = locator instanceof SmartLocator
+                ? ((SmartLocator) locator).orderedCandidates()
+                : List.of(locator);
+        List<List<String>> specs = DomQueries.toSpecs(ordered);
+        List<Map<String, Object>> records;
+        
+        if (specs != null) {
+            List<Object> result = (List<Object>) ScriptTransport.executeScript(
+                    driver, DomQueries.EXTRACT_BATCH, specs, limit, marker, prune);
+            int matched = ((Number) result.get(0)).intValue();
+            if (matched >= 0 && locator instanceof SmartLocator) {
+                ((SmartLocator) locator).recordHit(ordered.get(matched));
+            }
+            records = (List<Map<String, Object>>) result.get(1);
+        } else {
+            List<WebElement> elements = driver.findElements(locator);
+            if (elements.isEmpty()) {
+                return Collections.emptyList();
+            }
+            records = (List<Map<String, Object>>) executor.executeScript(
+                    DomQueries.EXTRACT_ELEMENTS_BATCH, elements, limit, marker, prune);
+        }
+        
+        List<ElementSnapshot> snapshots = new ArrayList<>(records.size());
+        for (Map<String, Object> record : records) {
+            snapshots.add(ElementSnapshot.fromScript(record));
+        }
+        return snapshots;
+    }
+    
+    /**
+     * Scrolls to the bottom of the page, e.g. to make an infinite-scroll list fetch its next page
+     * @return true if the page scrolled, false if it was already at the bottom
+     */
+    protected boolean scrollToBottom() {
+        return Boolean.TRUE.equals(ScriptTransport.executeScript(driver, DomQueries.SCROLL_TO_BOTTOM));
+    }
+    
+    /**
+     * Starts tracking DOM mutations in a region and XHR/fetch requests in the page.
+     * Call before an action whose effects {@link #waitForSettled} should wait out.
+     * @param region Locator of the region to observe; the body is observed if it does not match
+     */
+    protected void armSettleTracking(By region) {
+        try {
+            ScriptTransport.executeScript(driver, DomQueries.ARM_SETTLE, regionSpecs(region));
+        } catch (WebDriverException e) {
+            logger.debug("Could not arm settle tracking: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Waits until a region has had no DOM mutation and the page no request in flight for the quiet period.
+     * The quiet period only starts counting once a mutation or request has been seen since tracking was armed,
+     * so an action whose effect starts late is not mistaken for one that is already done; if nothing has changed
+     * within the grace period, the action is taken to have had no effect.
+     * Tracking is armed on the spot if {@link #armSettleTracking} was not called for the current document.
+     * @param region Locator of the region to observe
+     * @param quietPeriod How long the region must stay unchanged
+     * @param grace How long to wait for the first change before concluding nothing will change
+     * @param timeout Maximum time to wait
+     * @return SettleResult with the time actually waited
+     */
+    @SuppressWarnings("unchecked")
+    protected SettleResult waitForSettled(By region, Duration quietPeriod, Duration grace, Duration timeout) {
+        long start = System.nanoTime();
+        List<List<String>> specs = regionSpecs(region);
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration scriptTimeout = timeouts.getScriptTimeout();
+        Duration needed = timeout.plus(quietPeriod).plusSeconds(5);
+        if (scriptTimeout.compareTo(needed) < 0) {
+            timeouts.scriptTimeout(needed);
+        }
+        
+        try {
+            Map<String, Object> result;
+            try {
+                result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                        DomQueries.AWAIT_SETTLED, specs, quietPeriod.toMillis(), grace.toMillis(), timeout.toMillis(),
+                        false);
+            } catch (WebDriverException e) {
+                // The action replaced the document mid-wait, which counts as a change; track the new document
+                // for what is left of the budget
+                logger.debug("Document changed while waiting to settle: {}", e.getMessage());
+                long remaining = Math.max(0, timeout.toMillis() - Duration.ofNanos(System.nanoTime() - start).toMillis());
+                result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                        DomQueries.AWAIT_SETTLED, specs, quietPeriod.toMillis(), grace.toMillis(), remaining, true);
+            }
+            return new SettleResult(
+                    Boolean.TRUE.equals(result.get("settled")),
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                    ((Number) result.get("mutations")).longValue(),
+                    ((Number) result.get("requests")).longValue(),
+                    ((Number) result.get("pending")).longValue());
+        } finally {
+            if (scriptTimeout.compareTo(needed) < 0) {
+                timeouts.scriptTimeout(scriptTimeout);
+            }
+        }
+    }
+    
+    private List<List<String>> regionSpecs(By region) {
+        List<By> ordered = region instanceof SmartLocator
+                ? ((SmartLocator) region).orderedCandidates()
+                : List.of(region);
+        List<List<String>> specs = DomQueries.toSpecs(ordered);
+        return specs != null ? specs : Collections.emptyList();
+    }
+    
+    /**
+     * Declares what must be true before this page is usable. Pages override this with their key elements
+     * and app-ready signal; the default only requires the DOM to be parsed.
+     * @return ReadinessContract of this page
+     */
+    protected ReadinessContract readinessContract() {
+        return ReadinessContract.DOM_READY;
+    }
+    
+    /**
+     * Loads a URL and waits for this page's readiness contract rather than for every subresource,
+     * so the eager and none page-load strategies are safe
+     * @param url URL to load
+     */
+    protected void navigateTo(String url) {
+        try {
+            ScriptTransport.executeScript(driver, DomQueries.MARK_LEAVING, url);
+        } catch (WebDriverException e) {
+            logger.debug("Could not mark the current document before navigating: {}", e.getMessage());
+        }
+        driver.get(url);
+        waitUntilReady();
+    }
+    
+    /**
+     * Waits until this page's readiness contract holds, checking it in one script call per poll
+     * @throws TimeoutException if the contract does not hold within page.ready.timeoutMillis (default 15000)
+     */
+    public void waitUntilReady() {
+        ReadinessContract contract = readinessContract();
+        long start = System.nanoTime();
+        AtomicReference<List<String>> lastUnmet = new AtomicReference<>(List.of());
+        try {
+            WaitScheduler.until(getClass().getSimpleName() + " ready", () -> {
+                List<String> unmet = unmetReadiness(contract);
+                lastUnmet.set(unmet);
+                return unmet.isEmpty();
+            }, READY_TIMEOUT, () -> getClass().getSimpleName() + " readiness");
+        } catch (TimeoutException e) {
+            throw new TimeoutException(getClass().getSimpleName() + " not ready after "
+                    + READY_TIMEOUT.toMillis() + " ms, still waiting for " + lastUnmet.get(), e);
+        }
+        logger.info("{} ready after {} ms", getClass().getSimpleName(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+    
+    /**
+     * Checks this page's readiness contract once, without waiting
+     * @return true if the page is usable now
+     */
+    public boolean isReady() {
+        return unmetReadiness(readinessContract()).isEmpty();
+    }
+    
+    private List<String> unmetReadiness(ReadinessContract contract) {
+        List<By> keyElements = contract.getKeyElements();
+        List<List<List<String>>> specs = new ArrayList<>();
+        List<String> unmet = new ArrayList<>();
+        for (By keyElement : keyElements) {
+            List<List<String>> locatorSpecs = candidateSpecs(keyElement);
+            // Locators only the driver can resolve are checked separately and get no candidates here
+            specs.add(locatorSpecs != null ? locatorSpecs : List.of());
+            if (locatorSpecs == null && !probeWithDriver(keyElement)) {
+                unmet.add(keyElement.toString());
+            }
+        }
+        List<List<By>> groups = contract.getAlternatives();
+        List<List<List<List<String>>>> groupSpecs = new ArrayList<>();
+        boolean[] metByDriver = new boolean[groups.size()];
+        for (int g = 0; g < groups.size(); g++) {
+            List<List<List<String>>> memberSpecs = new ArrayList<>();
+            for (By member : groups.get(g)) {
+                List<List<String>> locatorSpecs = candidateSpecs(member);
+                memberSpecs.add(locatorSpecs != null ? locatorSpecs : List.of());
+                if (locatorSpecs == null && !metByDriver[g]) {
+                    metByDriver[g] = probeWithDriver(member);
+                }
+            }
+            groupSpecs.add(memberSpecs);
+        }
+        
+        try {
+            List<?> result = (List<?>) ScriptTransport.executeScript(
+                    driver, contract.script(), contract.getDocumentState(), specs, groupSpecs);
+            for (Object item : result) {
+                if (item instanceof Number) {
+                    int index = ((Number) item).intValue();
+                    if (index < 0) {
+                        if (!metByDriver[-1 - index]) {
+                            unmet.add("any of " + groups.get(-1 - index));
+                        }
+                    } else if (!specs.get(index).isEmpty()) {
+                        unmet.add(keyElements.get(index).toString());
+                    }
+                } else {
+                    unmet.add(String.valueOf(item));
+                }
+            }
+        } catch (WebDriverException e) {
+            // Typically the document is being replaced; try again on the next poll
+            unmet.add("script: " + e.getClass().getSimpleName());
+        }
+        return unmet;
+    }
+    
+    private static List<List<String>> candidateSpecs(By locator) {
+        return DomQueries.toSpecs(locator instanceof SmartLocator
+                ? ((SmartLocator) locator).orderedCandidates()
+                : List.of(locator));
+    }
+    
+    /**
+     * Starts timing a page transition. With performance capture on, this also samples the browser clock and,
+     * on Chromium, the cumulative CDP counters, so call it right before the action.
+     * @return Start marker to pass to {@link #recordTransition}
+     */
+    protected TransitionStart startTransition() {
+        long startedAt = System.currentTimeMillis();
+        if (!PerformanceRecorder.isEnabled()) {
+            return new TransitionStart(startedAt, startedAt, Map.of());
+        }
+        long browserMillis = startedAt;
+        try {
+            Object now = ScriptTransport.executeScript(driver, DomQueries.BROWSER_NOW);
+            if (now instanceof Number) {
+                browserMillis = ((Number) now).longValue();
+            }
+        } catch (WebDriverException e) {
+            logger.debug("Could not read the browser clock, using the JVM clock: {}", e.getMessage());
+        }
+        return new TransitionStart(startedAt, browserMillis, readCdpMetrics(CDP_COUNTERS, Set.of()));
+    }
+    
+    /**
+     * Captures the metrics of a transition that has just completed and records them with the
+     * {@link PerformanceRecorder}: duration since the start marker, Navigation/Paint Timing if a new document
+     * was loaded after the start, resources fetched since then and, on Chromium, CDP Performance.getMetrics
+     * (gauges as sampled now, counters as the increase since the start). Never fails the caller.
+     * @param transition Transition name, e.g. search.submit
+     * @param start Marker returned by {@link #startTransition()}
+     */
+    @SuppressWarnings("unchecked")
+    protected void recordTransition(String transition, TransitionStart start) {
+        if (!PerformanceRecorder.isEnabled()) {
+            return;
+        }
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("durationMillis", (double) (System.currentTimeMillis() - start.getStartedAtMillis()));
+        try {
+            Map<String, Object> timing = (Map<String, Object>) ScriptTransport.executeScript(
+                    driver, DomQueries.PERFORMANCE_TIMING, start.getBrowserMillis());
+            timing.forEach((name, value) -> {
+                if (value instanceof Number) {
+                    metrics.put(name, ((Number) value).doubleValue());
+                }
+            });
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("Could not read performance timing for {}: {}", transition, e.getMessage());
+        }
+        Map<String, Double> before = start.getCdpCounters();
+        readCdpMetrics(CDP_GAUGES, CDP_COUNTERS).forEach((name, value) -> {
+            Double initial = before.get(name);
+            // A counter below its start value belongs to a document loaded during the transition
+            double recorded = initial != null && value >= initial ? value - initial : value;
+            metrics.put("cdp." + name, recorded);
+        });
+        PerformanceRecorder.record(new TransitionMetrics(transition, getClass().getSimpleName(),
+                start.getStartedAtMillis(), metrics));
+        logger.info("Transition {} took {} ms", transition, metrics.get("durationMillis").longValue());
+    }
+    
+    /**
+     * Reads CDP Performance.getMetrics on Chromium browsers
+     * @param names Metric names to keep
+     * @param moreNames Further metric names to keep
+     * @return Values by metric name; empty on other browsers or if the command fails
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Double> readCdpMetrics(Set<String> names, Set<String> moreNames) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        if (!(driver instanceof HasCdp)) {
+            return values;
+        }
+        try {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Performance.enable", Map.of());
+            Map<String, Object> result = cdp.executeCdpCommand("Performance.getMetrics", Map.of());
+            for (Map<String, Object> metric : (List<Map<String, Object>>) result.get("metrics")) {
+                Object name = metric.get("name");
+                if (metric.get("value") instanceof Number && (names.contains(name) || moreNames.contains(name))) {
+                    values.put((String) name, ((Number) metric.get("value")).doubleValue());
+                }
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("Could not read CDP performance metrics: {}", e.getMessage());
+        }
+        return values;
+    }
+    
+    /**
+     * Creates a self-learning locator owned by this page, for candidates that all select the same element
+     * @param name Locator name, unique within the page
+     * @param candidates Candidate locators in declared order: id, then CSS, then XPath
+     * @return SmartLocator keyed by this page and name
+     */
+    protected SmartLocator smartLocator(String name, By... candidates) {
+        return new SmartLocator(getClass().getSimpleName(), name, candidates);
+    }
+    
+    /**
+     * Creates a locator whose candidates may select different elements, so they are always tried in declared order
+     * @param name Locator name, unique within the page
+     * @param candidates Candidate locators in order of preference
+     * @return SmartLocator keyed by this page and name
+     */
+    protected SmartLocator fallbackLocator(String name, By... candidates) {
+        return new SmartLocator(getClass().getSimpleName(), name, false, candidates);
+    }
+    
     /**
      * Gets the current page title
      * @return Page title
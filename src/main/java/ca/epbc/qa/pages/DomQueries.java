@@ -0,0 +1,368 @@
+package ca.epbc.qa.pages;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-page scripts and locator conversion used by BasePage to answer several questions in a single round-trip
+ */
+final class DomQueries {
+
+    private static final Set<String> SCRIPTABLE_STRATEGIES =
+            Set.of("id", "name", "class name", "tag name", "css selector", "xpath");
+
+    /**
+     * Shared lookup helpers. Each locator spec is a [using, value] pair as produced by {@link #toSpec(By)}.
+     */
+    static final String LOOKUP_FUNCTIONS =
+            "function epbcFindAll(spec) {" +
+            "  var using = spec[0], value = spec[1];" +
+            "  try {" +
+            "    if (using === 'xpath') {" +
+            "      var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "      var nodes = [];" +
+            "      for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }" +
+            "      return nodes;" +
+            "    }" +
+            "    if (using === 'css selector') { return Array.prototype.slice.call(document.querySelectorAll(value)); }" +
+            "    if (using === 'id') { return Array.prototype.slice.call(document.querySelectorAll('#' + CSS.escape(value))); }" +
+            "    if (using === 'name') { return Array.prototype.slice.call(document.getElementsByName(value)); }" +
+            "    if (using === 'class name') { return Array.prototype.slice.call(document.getElementsByClassName(value)); }" +
+            "    if (using === 'tag name') { return Array.prototype.slice.call(document.getElementsByTagName(value)); }" +
+            "  } catch (e) {}" +
+            "  return [];" +
+            "}" +
+            "function epbcFindFirst(spec) {" +
+            "  var using = spec[0], value = spec[1];" +
+            "  if (using === 'xpath') {" +
+            "    try {" +
+            "      return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "    } catch (e) { return null; }" +
+            "  }" +
+            "  return epbcFindAll(spec)[0] || null;" +
+            "}" +
+            "function epbcIsDisplayed(el) {" +
+            "  if (!el || !el.isConnected) { return false; }" +
+            "  for (var node = el; node && node.nodeType === 1; node = node.parentElement) {" +
+            "    var style = window.getComputedStyle(node);" +
+            "    if (style.display === 'none' || style.opacity === '0') { return false; }" +
+            "  }" +
+            "  var own = window.getComputedStyle(el);" +
+            "  if (own.visibility === 'hidden' || own.visibility === 'collapse') { return false; }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return rect.width > 0 && rect.height > 0;" +
+            "}";
+
+    /**
+     * Takes one list of candidate specs per locator and returns one [displayed, matchedCandidate] pair per locator.
+     * The first candidate with a match decides the outcome; matchedCandidate is -1 when nothing matched.
+     */
+    static final String PROBE_DISPLAYED = LOOKUP_FUNCTIONS +
+            "return arguments[0].map(function (candidates) {" +
+            "  for (var i = 0; i < candidates.length; i++) {" +
+            "    var el = epbcFindFirst(candidates[i]);" +
+            "    if (el) { return [epbcIsDisplayed(el), i]; }" +
+            "  }" +
+            "  return [false, -1];" +
+            "});";
+
+    /**
+     * Takes a list of candidate specs and returns [matchedCandidate, elements] for the first candidate with matches
+     */
+    static final String FIND_FIRST_CANDIDATE = LOOKUP_FUNCTIONS +
+            "var candidates = arguments[0];" +
+            "for (var i = 0; i < candidates.length; i++) {" +
+            "  var found = epbcFindAll(candidates[i]);" +
+            "  if (found.length) { return [i, found]; }" +
+            "}" +
+            "return [-1, []];";
+
+    /**
+     * Snapshot helper shared by the extraction scripts; see {@link ElementSnapshot#fromScript}
+     */
+    static final String SNAPSHOT_FUNCTION =
+            "function epbcSnapshot(el) {" +
+            "  var attributes = {};" +
+            "  for (var i = 0; i < el.attributes.length; i++) {" +
+            "    var attr = el.attributes[i];" +
+            "    if (/^(id|class|name|href|value|aria-label|data-.*)$/.test(attr.name)) { attributes[attr.name] = attr.value; }" +
+            "  }" +
+            "  var displayed = epbcIsDisplayed(el);" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return {" +
+            "    tag: el.tagName.toLowerCase()," +
+            "    text: displayed ? (el.innerText || '').trim() : ''," +
+            "    attributes: attributes," +
+            "    displayed: displayed," +
+            "    rect: { x: rect.left + window.scrollX, y: rect.top + window.scrollY, width: rect.width, height: rect.height }" +
+            "  };" +
+            "}";
+
+    /**
+     * Takes a list of candidate specs and returns [matchedCandidate, snapshots] for the first candidate with matches
+     */
+    static final String EXTRACT = LOOKUP_FUNCTIONS + SNAPSHOT_FUNCTION +
+            "var candidates = arguments[0];" +
+            "for (var i = 0; i < candidates.length; i++) {" +
+            "  var found = epbcFindAll(candidates[i]);" +
+            "  if (found.length) { return [i, found.map(epbcSnapshot)]; }" +
+            "}" +
+            "return [-1, []];";
+
+    /**
+     * Takes a list of elements already located by the driver and returns their snapshots
+     */
+    static final String EXTRACT_ELEMENTS = LOOKUP_FUNCTIONS + SNAPSHOT_FUNCTION +
+            "return arguments[0].map(epbcSnapshot);";
+
+    /**
+     * Batch helper shared by the batch extraction scripts. Snapshots up to limit elements that are not yet tagged
+     * with the marker, then tags them (or removes them from the DOM when prune is set) so the next batch skips them.
+     * Tagging happens after every snapshot is taken so the batch costs a single style and layout pass.
+     */
+    static final String BATCH_FUNCTION =
+            "function epbcNextBatch(found, limit, marker, prune) {" +
+            "  var batch = [];" +
+            "  for (var i = 0; i < found.length && batch.length < limit; i++) {" +
+            "    if (found[i].getAttribute('data-epbc-seen') !== marker) { batch.push(found[i]); }" +
+            "  }" +
+            "  var snapshots = batch.map(epbcSnapshot);" +
+            "  batch.forEach(function (el) { if (prune) { el.remove(); } else { el.setAttribute('data-epbc-seen', marker); } });" +
+            "  return snapshots;" +
+            "}";
+
+    /**
+     * Takes a list of candidate specs, batch size, marker and prune flag and returns [matchedCandidate, snapshots]
+     * for the next batch of the first candidate with matches
+     */
+    static final String EXTRACT_BATCH = LOOKUP_FUNCTIONS + SNAPSHOT_FUNCTION + BATCH_FUNCTION +
+            "var candidates = arguments[0];" +
+            "for (var i = 0; i < candidates.length; i++) {" +
+            "  var found = epbcFindAll(candidates[i]);" +
+            "  if (found.length) { return [i, epbcNextBatch(found, arguments[1], arguments[2], arguments[3])]; }" +
+            "}" +
+            "return [-1, []];";
+
+    /**
+     * Takes a list of elements already located by the driver, batch size, marker and prune flag and returns
+     * the snapshots of the next batch
+     */
+    static final String EXTRACT_ELEMENTS_BATCH = LOOKUP_FUNCTIONS + SNAPSHOT_FUNCTION + BATCH_FUNCTION +
+            "return epbcNextBatch(arguments[0], arguments[1], arguments[2], arguments[3]);";
+
+    /**
+     * Scrolls to the bottom of the document so infinite-scroll lists fetch their next page.
+     * Returns false when the document was already scrolled to the bottom.
+     */
+    static final String SCROLL_TO_BOTTOM =
+            "var bottom = document.documentElement.scrollHeight - window.innerHeight;" +
+            "if (window.scrollY >= bottom - 1) { return false; }" +
+            "window.scrollTo(0, bottom);" +
+            "return true;";
+
+    /**
+     * Installs XHR/fetch in-flight tracking once per document and (re)starts a MutationObserver on the first
+     * region candidate that matches, falling back to the body. State lives in window.__epbcSettle and counts
+     * the mutations and started requests since it was armed.
+     */
+    static final String SETTLE_FUNCTIONS = LOOKUP_FUNCTIONS +
+            "function epbcTouch(started) {" +
+            "  var state = window.__epbcSettle;" +
+            "  if (state) { state.lastChange = performance.now(); if (started) { state.requests++; } }" +
+            "}" +
+            "function epbcInstallNetworkTracking() {" +
+            "  if (window.__epbcNet) { return; }" +
+            "  var net = window.__epbcNet = { inflight: 0 };" +
+            "  var send = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function () {" +
+            "    var finished = false;" +
+            "    var finish = function () { if (!finished) { finished = true; net.inflight--; epbcTouch(); } };" +
+            "    net.inflight++; epbcTouch(true);" +
+            "    this.addEventListener('loadend', finish);" +
+            "    try { return send.apply(this, arguments); } catch (e) { finish(); throw e; }" +
+            "  };" +
+            "  if (window.fetch) {" +
+            "    var fetch = window.fetch;" +
+            "    window.fetch = function () {" +
+            "      net.inflight++; epbcTouch(true);" +
+            "      var finish = function () { net.inflight--; epbcTouch(); };" +
+            "      try {" +
+            "        return fetch.apply(this, arguments).then(function (r) { finish(); return r; }," +
+            "            function (e) { finish(); throw e; });" +
+            "      } catch (e) { finish(); throw e; }" +
+            "    };" +
+            "  }" +
+            "}" +
+            "function epbcArmSettle(candidates) {" +
+            "  epbcInstallNetworkTracking();" +
+            "  if (window.__epbcSettle) { window.__epbcSettle.observer.disconnect(); }" +
+            "  var region = null;" +
+            "  for (var i = 0; i < candidates.length && !region; i++) { region = epbcFindFirst(candidates[i]); }" +
+            "  var state = { lastChange: performance.now(), mutations: 0, requests: 0, target: region || document.body," +
+            "    candidates: candidates };" +
+            "  state.observer = new MutationObserver(function (records) {" +
+            "    state.mutations += records.length; state.lastChange = performance.now();" +
+            "  });" +
+            "  state.observer.observe(state.target, { childList: true, subtree: true, attributes: true, characterData: true });" +
+            "  window.__epbcSettle = state;" +
+            "}";
+
+    /**
+     * Takes region candidate specs and arms settle tracking ahead of an action
+     */
+    static final String ARM_SETTLE = SETTLE_FUNCTIONS + "epbcArmSettle(arguments[0]);";
+
+    /**
+     * Async script taking region candidate specs, quiet period, grace period and timeout (ms) and whether the
+     * document was already replaced, which counts as a mutation. Resolves with {settled, mutations, requests,
+     * pending} once there is no request in flight and, after at least one mutation or started request since
+     * arming, no mutation for the quiet period. If nothing has changed by the end of the grace period, the
+     * action is taken to have had no effect.
+     */
+    static final String AWAIT_SETTLED = SETTLE_FUNCTIONS +
+            "var candidates = arguments[0], quiet = arguments[1], grace = arguments[2], timeout = arguments[3];" +
+            "var changed = arguments[4], done = arguments[arguments.length - 1];" +
+            "if (!window.__epbcSettle) { epbcArmSettle(candidates); }" +
+            "if (changed) { window.__epbcSettle.mutations++; }" +
+            "var start = performance.now();" +
+            "(function poll() {" +
+            "  var state = window.__epbcSettle, now = performance.now();" +
+            "  if (!state.target.isConnected) { var previous = state; epbcArmSettle(state.candidates);" +
+            "    state = window.__epbcSettle; state.mutations += previous.mutations + 1; state.requests += previous.requests; }" +
+            "  var pending = window.__epbcNet ? window.__epbcNet.inflight : 0;" +
+            "  var active = state.mutations + state.requests > 0;" +
+            "  var result = { mutations: state.mutations, requests: state.requests, pending: pending };" +
+            "  if (pending <= 0 && (active ? now - state.lastChange >= quiet : now - start >= grace)) {" +
+            "    result.settled = true; return done(result);" +
+            "  }" +
+            "  if (now - start >= timeout) { result.settled = false; return done(result); }" +
+            "  setTimeout(poll, 25);" +
+            "})();";
+
+    /**
+     * Readiness check taking the minimum document state, one list of candidate specs per key element, an
+     * optional app-ready function and groups of alternative elements, each a list of candidate spec lists.
+     * Returns what is still unmet: the index of every key element that is not displayed, -1 - index for every
+     * group none of whose elements is displayed, plus 'navigation', 'document <state>' or 'app-ready signal';
+     * an empty list means ready.
+     */
+    static final String READINESS_FUNCTIONS = LOOKUP_FUNCTIONS +
+            "function epbcReadiness(minimum, elements, signal, groups) {" +
+            "  if (document.__epbcLeaving === location.href) { return ['navigation']; }" +
+            "  var states = ['loading', 'interactive', 'complete'], unmet = [];" +
+            "  if (states.indexOf(document.readyState) < states.indexOf(minimum)) {" +
+            "    unmet.push('document ' + document.readyState);" +
+            "  }" +
+            "  elements.forEach(function (candidates, index) {" +
+            "    for (var i = 0; i < candidates.length; i++) {" +
+            "      var el = epbcFindFirst(candidates[i]);" +
+            "      if (el) { if (!epbcIsDisplayed(el)) { unmet.push(index); } return; }" +
+            "    }" +
+            "    unmet.push(index);" +
+            "  });" +
+            "  groups.forEach(function (group, index) {" +
+            "    for (var m = 0; m < group.length; m++) {" +
+            "      for (var i = 0; i < group[m].length; i++) {" +
+            "        var el = epbcFindFirst(group[m][i]);" +
+            "        if (el) { if (epbcIsDisplayed(el)) { return; } break; }" +
+            "      }" +
+            "    }" +
+            "    unmet.push(-1 - index);" +
+            "  });" +
+            "  var ready = false;" +
+            "  try { ready = !signal || !!signal(); } catch (e) {}" +
+            "  if (!ready) { unmet.push('app-ready signal'); }" +
+            "  return unmet;" +
+            "}";
+
+    /**
+     * Takes the URL about to be loaded and marks the current document, tagged with its URL, so readiness
+     * checks cannot pass on it while a navigation replaces it. The mark no longer counts once the URL changes
+     * and is dropped on hashchange or popstate; a target that only moves to a fragment of the current
+     * document is a same-document navigation and is not marked at all.
+     */
+    static final String MARK_LEAVING =
+            "var target;" +
+            "try { target = new URL(arguments[0], location.href); } catch (e) { target = null; }" +
+            "if (target && target.hash && target.href.split('#')[0] === location.href.split('#')[0]) { return; }" +
+            "document.__epbcLeaving = location.href;" +
+            "if (!document.__epbcLeavingListeners) {" +
+            "  document.__epbcLeavingListeners = true;" +
+            "  var clear = function () { document.__epbcLeaving = null; };" +
+            "  window.addEventListener('hashchange', clear);" +
+            "  window.addEventListener('popstate', clear);" +
+            "}";
+
+    /**
+     * Returns the browser clock as epoch milliseconds, the clock performance.timeOrigin is measured on
+     */
+    static final String BROWSER_NOW = "return Date.now();";
+
+    /**
+     * Takes the transition start as epoch milliseconds on the browser clock (see {@link #BROWSER_NOW}). Returns Navigation and Paint Timing (ms from navigation
+     * start) when the current document was loaded after that time, plus the count and transfer size of
+     * resources fetched since then.
+     */
+    static final String PERFORMANCE_TIMING =
+            "var since = arguments[0], result = {};" +
+            "if (performance.timeOrigin >= since - 50) {" +
+            "  var nav = performance.getEntriesByType('navigation')[0];" +
+            "  if (nav) {" +
+            "    result.ttfbMillis = nav.responseStart;" +
+            "    if (nav.domInteractive > 0) { result.domInteractiveMillis = nav.domInteractive; }" +
+            "    if (nav.domContentLoadedEventEnd > 0) { result.domContentLoadedMillis = nav.domContentLoadedEventEnd; }" +
+            "    if (nav.loadEventEnd > 0) { result.loadMillis = nav.loadEventEnd; }" +
+            "    result.documentBytes = nav.transferSize;" +
+            "  }" +
+            "  performance.getEntriesByType('paint').forEach(function (paint) {" +
+            "    if (paint.name === 'first-paint') { result.firstPaintMillis = paint.startTime; }" +
+            "    if (paint.name === 'first-contentful-paint') { result.firstContentfulPaintMillis = paint.startTime; }" +
+            "  });" +
+            "}" +
+            "var sinceOffset = since - performance.timeOrigin, count = 0, bytes = 0;" +
+            "performance.getEntriesByType('resource').forEach(function (resource) {" +
+            "  if (resource.startTime >= sinceOffset) { count++; bytes += resource.transferSize || 0; }" +
+            "});" +
+            "result.resourceCount = count;" +
+            "result.resourceBytes = bytes;" +
+            "return result;";
+
+    private DomQueries() {
+    }
+
+    /**
+     * Converts candidate locators into specs, keeping their order
+     * @param candidates Candidate locators
+     * @return Candidate specs, or null if any candidate can only be resolved by the driver
+     */
+    static List<List<String>> toSpecs(List<By> candidates) {
+        List<List<String>> specs = new ArrayList<>(candidates.size());
+        for (By candidate : candidates) {
+            List<String> spec = toSpec(candidate);
+            if (spec == null) {
+                return null;
+            }
+            specs.add(spec);
+        }
+        return specs;
+    }
+
+    /**
+     * Converts a locator into a [using, value] pair the in-page scripts understand
+     * @param locator Element locator
+     * @return Locator spec, or null if the locator can only be resolved by the driver
+     */
+    static List<String> toSpec(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        if (!SCRIPTABLE_STRATEGIES.contains(parameters.using()) || !(parameters.value() instanceof String)) {
+            return null;
+        }
+        return List.of(parameters.using(), (String) parameters.value());
+    }
+}
@@ -0,0 +1,96 @@
+package ca.epbc.qa.pages;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only copy of an element's text, key attributes, visibility and bounding box,
+ * captured in the same script call as its siblings
+ */
+public class ElementSnapshot {
+    private final String tagName;
+    private final String text;
+    private final Map<String, String> attributes;
+    private final boolean displayed;
+    private final Rectangle rect;
+
+    public ElementSnapshot(String tagName, String text, Map<String, String> attributes, boolean displayed, Rectangle rect) {
+        this.tagName = tagName;
+        this.text = text;
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        this.displayed = displayed;
+        this.rect = rect;
+    }
+
+    /**
+     * Builds a snapshot from a record returned by the extraction script
+     * @param record Map with tag, text, attributes, displayed and rect entries
+     * @return ElementSnapshot
+     */
+    @SuppressWarnings("unchecked")
+    static ElementSnapshot fromScript(Map<String, Object> record) {
+        Map<String, Object> rawAttributes = (Map<String, Object>) record.get("attributes");
+        Map<String, String> attributes = new LinkedHashMap<>();
+        if (rawAttributes != null) {
+            rawAttributes.forEach((name, value) -> attributes.put(name, String.valueOf(value)));
+        }
+        Map<String, Object> box = (Map<String, Object>) record.get("rect");
+        Rectangle rect = new Rectangle(intValue(box, "x"), intValue(box, "y"), intValue(box, "height"), intValue(box, "width"));
+        return new ElementSnapshot(
+                String.valueOf(record.get("tag")),
+                record.get("text") == null ? "" : String.valueOf(record.get("text")),
+                attributes,
+                Boolean.TRUE.equals(record.get("displayed")),
+                rect);
+    }
+
+    private static int intValue(Map<String, Object> box, String name) {
+        Object value = box == null ? null : box.get(name);
+        return value instanceof Number ? (int) Math.round(((Number) value).doubleValue()) : 0;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Gets the rendered text, matching WebElement.getText: empty for elements that are not displayed
+     * @return Element text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets id, class, name, href, value, aria-label and data-* attributes that are present on the element
+     * @return Attribute values by name
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Gets a single captured attribute
+     * @param name Attribute name
+     * @return Attribute value, or null if absent or not captured
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    @Override
+    public String toString() {
+        return "<" + tagName + " " + attributes + (displayed ? "" : " hidden") + "> " + text;
+    }
+}
@@ -3,20 +3,40 @@ package ca.epbc.qa.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.time.Duration;
+
 /**
  * Page Object Model for the EPBC Home Page
  */
 public class HomePage extends BasePage {
+    private static final Duration SIGNED_IN_BUDGET = Duration.ofSeconds(5);
     
     // Locators
-    private final By signInButton = By.xpath("//a[contains(@href, '/sign-in') or contains(text(), 'Sign In') or contains(text(), 'Log In')]");
-    private final By createAccountButton = By.xpath("//a[contains(@href, '/register') or contains(text(), 'Create Account') or contains(text(), 'Register')]");
-    private final By searchBox = By.xpath("//input[@type='search' or @placeholder*='search' or @name*='search']");
-    private final By searchButton = By.xpath("//button[@type='submit' or contains(text(), 'Search')]");
+    private final By signInButton = smartLocator("signInButton",
+            By.cssSelector("a[href*='/sign-in']"),
+            By.xpath("//a[contains(text(), 'Sign In') or contains(text(), 'Log In')]"));
+    private final By signOutLink = smartLocator("signOutLink",
+            By.cssSelector("a[href*='sign-out']"),
+            By.cssSelector("a[href*='logout']"),
+            By.xpath("//*[self::a or self::button][contains(text(), 'Sign Out') or contains(text(), 'Log Out')]"));
+    private final By createAccountButton = smartLocator("createAccountButton",
+            By.cssSelector("a[href*='/register']"),
+            By.xpath("//a[contains(text(), 'Create Account') or contains(text(), 'Register')]"));
+    private final By searchBox = smartLocator("searchBox",
+            By.cssSelector("input[type='search']"),
+            By.cssSelector("input[placeholder*='search' i]"),
+            By.cssSelector("input[name*='search']"));
+    private final By searchButton = smartLocator("searchButton",
+            By.cssSelector("button[type='submit']"),
+            By.xpath("//button[contains(text(), 'Search')]"));
     
     public HomePage(WebDriver driver) {
         super(driver);
-        logger.info("HomePage initialized");
+    }
+    
+    @Override
+    protected ReadinessContract readinessContract() {
+        return ReadinessContract.keyElements(searchBox);
     }
     
     /**
@@ -24,7 +44,9 @@ public class HomePage extends BasePage {
      * @param url The URL to navigate to
      */
     public void navigateToHomePage(String url) {
-        driver.get(url);
+        TransitionStart start = startTransition();
+        navigateTo(url);
+        recordTransition("home.load", start);
         logger.info("Navigated to homepage: {}", url);
     }
     
@@ -55,16 +77,29 @@ public class HomePage extends BasePage {
      */
     public SearchResultsPage performSearch(String searchTerm) {
         typeText(searchBox, searchTerm);
+        TransitionStart start = startTransition();
         clickElement(searchButton);
         logger.info("Performed search for: {}", searchTerm);
-        return new SearchResultsPage(driver);
+        SearchResultsPage searchResultsPage = new SearchResultsPage(driver);
+        searchResultsPage.waitUntilReady();
+        searchResultsPage.recordTransition("search.submit", start);
+        return searchResultsPage;
+    }
+    
+    /**
+     * Checks if a user is signed in, giving the header up to 5 seconds to render. Only a displayed sign-out
+     * control counts; a missing sign-in link can also mean the header has not rendered yet.
+     * @return true if signed in
+     */
+    public boolean isSignedIn() {
+        return isElementDisplayed(signOutLink, SIGNED_IN_BUDGET);
     }
     
     /**
-     * Checks if the homepage is loaded
+     * Checks if the homepage is loaded, i.e. its readiness contract holds
      * @return true if homepage is loaded
      */
     public boolean isHomePageLoaded() {
-        return getCurrentUrl().contains("educationplannerbc.ca");
+        return isReady();
     }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+package ca.epbc.qa.pages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Counts how often each candidate of each {@link SmartLocator} matched, per page and site version,
+ * and persists the hit counts between runs. Counts are capped, and every candidate that was tried and missed
+ * before the one that matched has its count halved, so after a site change a stale favourite drops behind
+ * within a few lookups however many hits it had collected.
+ * The store file is set with the locator.learning.file system property and the site version
+ * with site.version.
+ */
+public final class LocatorLearning {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorLearning.class);
+    static final long MAX_HITS = 20;
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+
+    private LocatorLearning() {
+    }
+
+    /**
+     * Gets the candidate indices in the order they should be tried: most hits first, ties in declared order,
+     * so a single flaky match does not reorder a locator that usually matches another candidate
+     * @param key Locator key (page and locator name)
+     * @param candidateCount Number of declared candidates
+     * @return Candidate indices in lookup order
+     */
+    static int[] lookupOrder(String key, int candidateCount) {
+        return entry(key, candidateCount).order();
+    }
+
+    /**
+     * Records that a candidate matched after the candidates were tried in their learned order
+     * @param key Locator key (page and locator name)
+     * @param candidateIndex Declared index of the candidate that matched
+     * @param candidateCount Number of declared candidates
+     */
+    static void recordHit(String key, int candidateIndex, int candidateCount) {
+        recordHit(key, lookupOrder(key, candidateCount), candidateIndex);
+    }
+
+    /**
+     * Records that a candidate matched, demoting the candidates tried before it
+     * @param key Locator key (page and locator name)
+     * @param triedOrder Declared indices of all candidates in the order they were tried
+     * @param candidateIndex Declared index of the candidate that matched
+     */
+    static void recordHit(String key, int[] triedOrder, int candidateIndex) {
+        Entry entry = entry(key, triedOrder.length);
+        int before = entry.preferred();
+        for (int index : triedOrder) {
+            if (index == candidateIndex) {
+                break;
+            }
+            entry.hits.getAndUpdate(index, hits -> hits / 2);
+        }
+        entry.hits.getAndUpdate(candidateIndex, hits -> Math.min(hits + 1, MAX_HITS));
+        if (entry.preferred() != before) {
+            logger.debug("Locator {} now prefers candidate {}", key, candidateIndex);
+        }
+    }
+
+    /**
+     * Builds the store key for a locator under the current site version
+     * @param page Page object name
+     * @param name Locator name within the page
+     * @return Store key
+     */
+    static String key(String page, String name) {
+        return System.getProperty("site.version", "default") + "/" + page + "." + name;
+    }
+
+    /**
+     * Writes the learned ordering and hit counts to the store file
+     */
+    public static synchronized void save() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Properties properties = new Properties();
+        entries.forEach((key, entry) -> {
+            properties.setProperty(key + ".preferred", String.valueOf(entry.preferred()));
+            properties.setProperty(key + ".hits", entry.hitsAsString());
+        });
+
+        Path file = storeFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                properties.store(writer, "Learned SmartLocator candidate ordering");
+            }
+            logger.info("Saved learned ordering for {} locators to {}", entries.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not save locator learning to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Lists every locator whose preferred candidate is not the first declared one,
+     * i.e. the fallbacks the pages still depend on
+     * @return One line per locator still using a fallback
+     */
+    public static List<String> fallbackReport() {
+        List<String> lines = new ArrayList<>();
+        new TreeMap<>(entries).forEach((key, entry) -> {
+            if (entry.preferred() != 0) {
+                lines.add(String.format("%s uses candidate %d (hits per candidate: %s)",
+                        key, entry.preferred(), entry.hitsAsString()));
+            }
+        });
+        return lines;
+    }
+
+    /**
+     * Logs the fallback report
+     */
+    public static void logStats() {
+        List<String> fallbacks = fallbackReport();
+        logger.info("Learned locators: {}, still on a fallback candidate: {}", entries.size(), fallbacks.size());
+        fallbacks.forEach(line -> logger.info("  {}", line));
+    }
+
+    private static Entry entry(String key, int candidateCount) {
+        loadIfNeeded();
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(candidateCount));
+        if (entry.hits.length() != candidateCount) {
+            // The locator's candidate list changed since the ordering was learned
+            entry = new Entry(candidateCount);
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    private static void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (LocatorLearning.class) {
+            if (loaded) {
+                return;
+            }
+            Path file = storeFile();
+            if (Files.isRegularFile(file)) {
+                Properties properties = new Properties();
+                try (Reader reader = Files.newBufferedReader(file)) {
+                    properties.load(reader);
+                    for (String name : properties.stringPropertyNames()) {
+                        if (name.endsWith(".hits")) {
+                            String key = name.substring(0, name.length() - ".hits".length());
+                            entries.put(key, Entry.parse(properties.getProperty(name)));
+                        }
+                    }
+                    logger.info("Loaded learned ordering for {} locators from {}", entries.size(), file);
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Ignoring unreadable locator learning file {}: {}", file, e.getMessage());
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private static Path storeFile() {
+        return Paths.get(System.getProperty("locator.learning.file", ".epbc-cache/locator-learning.properties"));
+    }
+
+    private static final class Entry {
+        private final AtomicLongArray hits;
+
+        private Entry(int candidateCount) {
+            this.hits = new AtomicLongArray(candidateCount);
+        }
+
+        private int[] order() {
+            // Stable insertion sort by hits, descending; candidate lists are a handful long and this runs per lookup
+            long[] counts = snapshot();
+            int[] order = new int[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                int slot = i;
+                while (slot > 0 && counts[order[slot - 1]] < counts[i]) {
+                    order[slot] = order[slot - 1];
+                    slot--;
+                }
+                order[slot] = i;
+            }
+            return order;
+        }
+
+        private int preferred() {
+            return order()[0];
+        }
+
+        private long[] snapshot() {
+            long[] values = new long[hits.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = hits.get(i);
+            }
+            return values;
+        }
+
+        private String hitsAsString() {
+            return Arrays.stream(snapshot()).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        }
+
+        private static Entry parse(String hits) {
+            String[] parts = hits.split(",");
+            Entry entry = new Entry(parts.length);
+            for (int i = 0; i < parts.length; i++) {
+                entry.hits.set(i, Math.min(Long.parseLong(parts[i].trim()), MAX_HITS));
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package ca.epbc.qa.pages;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Snapshot of the My List items indexed by normalized name, program id and institution, so membership, count
+ * and expected-versus-actual questions are answered without going back to the browser
+ */
+public class MyListIndex {
+    private static final Pattern SINGLE_QUOTES = Pattern.compile("[\\u2018\\u2019\\u201B\\u2032`]");
+    private static final Pattern DOUBLE_QUOTES = Pattern.compile("[\\u201C\\u201D\\u2033]");
+    private static final Pattern DASHES = Pattern.compile("[\\u2010-\\u2015]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private final List<ProgramRecord> items;
+    private final Map<String, List<ProgramRecord>> byName = new HashMap<>();
+    private final Map<String, ProgramRecord> byProgramId = new HashMap<>();
+    private final Map<String, List<ProgramRecord>> byInstitution = new HashMap<>();
+    
+    /**
+     * Indexes the given list item snapshots
+     * @param snapshots My List item snapshots in list order
+     * @return MyListIndex
+     */
+    static MyListIndex fromSnapshots(List<ElementSnapshot> snapshots) {
+        List<ProgramRecord> items = new ArrayList<>(snapshots.size());
+        for (ElementSnapshot snapshot : snapshots) {
+            items.add(ProgramRecord.fromSnapshot(items.size(), snapshot));
+        }
+        return new MyListIndex(items);
+    }
+    
+    public MyListIndex(List<ProgramRecord> items) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+        for (ProgramRecord item : this.items) {
+            byName.computeIfAbsent(normalize(item.getName()), key -> new ArrayList<>()).add(item);
+            byInstitution.computeIfAbsent(normalize(item.getInstitution()), key -> new ArrayList<>()).add(item);
+            if (item.getProgramId() != null && !item.getProgramId().isEmpty()) {
+                byProgramId.putIfAbsent(item.getProgramId(), item);
+            }
+        }
+    }
+    
+    /**
+     * Normalizes a name for comparison: Unicode compatibility form, typographic quotes and dashes folded to
+     * their ASCII forms, whitespace collapsed and case ignored
+     * @param text Text to normalize
+     * @return Normalized text; empty for null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        normalized = SINGLE_QUOTES.matcher(normalized).replaceAll("'");
+        normalized = DOUBLE_QUOTES.matcher(normalized).replaceAll("\"");
+        normalized = DASHES.matcher(normalized).replaceAll("-");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+    
+    public int size() {
+        return items.size();
+    }
+    
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+    
+    /**
+     * Gets the indexed items
+     * @return Items in list order
+     */
+    public List<ProgramRecord> getItems() {
+        return items;
+    }
+    
+    /**
+     * Checks whether a program is in the list. The program matches by id or normalized name; when it is given as
+     * the full text of a search result card, its first line is taken as the name. Partial names do not match.
+     * @param program Program name, id or card text
+     * @return true if an item matches
+     */
+    public boolean contains(String program) {
+        if (program == null || program.trim().isEmpty()) {
+            return false;
+        }
+        if (byProgramId.containsKey(program.trim()) || containsName(program)) {
+            return true;
+        }
+        String firstLine = program.trim().split("\\s*\\n\\s*")[0];
+        return containsName(firstLine);
+    }
+    
+    /**
+     * Checks whether an item has exactly this name, after normalization
+     * @param name Program name
+     * @return true if an item has the name
+     */
+    public boolean containsName(String name) {
+        return byName.containsKey(normalize(name));
+    }
+    
+    /**
+     * Checks whether an item carries this data-program-id
+     * @param programId Program id
+     * @return true if an item has the id
+     */
+    public boolean containsProgramId(String programId) {
+        return programId != null && byProgramId.containsKey(programId);
+    }
+    
+    /**
+     * Counts the items with a given name, after normalization
+     * @param name Program name
+     * @return Number of items with the name
+     */
+    public int countByName(String name) {
+        return byName.getOrDefault(normalize(name), Collections.emptyList()).size();
+    }
+    
+    /**
+     * Counts the items offered by an institution, after normalization
+     * @param institution Institution name
+     * @return Number of items from the institution
+     */
+    public int countByInstitution(String institution) {
+        return byInstitution.getOrDefault(normalize(institution), Collections.emptyList()).size();
+    }
+    
+    /**
+     * Compares the list with the programs expected in it, by normalized name
+     * @param expectedNames Names expected in the list
+     * @return Diff with the missing and the unexpected names
+     */
+    public Diff diff(Collection<String> expectedNames) {
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (String name : expectedNames) {
+            expected.putIfAbsent(normalize(name), name);
+        }
+        Set<String> missing = new LinkedHashSet<>();
+        expected.forEach((key, name) -> {
+            if (!byName.containsKey(key)) {
+                missing.add(name);
+            }
+        });
+        Set<String> unexpected = new LinkedHashSet<>();
+        for (ProgramRecord item : items) {
+            if (!expected.containsKey(normalize(item.getName()))) {
+                unexpected.add(item.getName());
+            }
+        }
+        return new Diff(missing, unexpected);
+    }
+    
+    @Override
+    public String toString() {
+        return items.size() + " items, " + byProgramId.size() + " with ids, " + byInstitution.size() + " institutions";
+    }
+    
+    /**
+     * Expected-versus-actual comparison of My List
+     */
+    public static class Diff {
+        private final Set<String> missing;
+        private final Set<String> unexpected;
+        
+        public Diff(Set<String> missing, Set<String> unexpected) {
+            this.missing = Collections.unmodifiableSet(missing);
+            this.unexpected = Collections.unmodifiableSet(unexpected);
+        }
+        
+        /**
+         * Gets the expected names that are not in the list
+         * @return Missing names, as given
+         */
+        public Set<String> getMissing() {
+            return missing;
+        }
+        
+        /**
+         * Gets the names in the list that were not expected
+         * @return Unexpected names, as shown in the list
+         */
+        public Set<String> getUnexpected() {
+            return unexpected;
+        }
+        
+        /**
+         * Checks whether the list holds exactly the expected programs
+         * @return true if nothing is missing or unexpected
+         */
+        public boolean isMatch() {
+            return missing.isEmpty() && unexpected.isEmpty();
+        }
+        
+        @Override
+        public String toString() {
+            return isMatch() ? "matches" : "missing " + missing + ", unexpected " + unexpected;
+        }
+    }
+}
@@ -1,56 +1,110 @@
 package ca.epbc.qa.pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Page Object Model for the EPBC My List Page
  */
 public class MyListPage extends BasePage {
+    static final String LOAD_TRANSITION = "mylist.load";
+    private static final Duration REMOVE_TIMEOUT =
+            Duration.ofMillis(Long.getLong("mylist.removeTimeoutMillis", 5_000L));
     
     // My List Locators
-    private final By myListContainer = By.xpath("//div[contains(@class, 'my-list') or contains(@class, 'saved-programs')]");
-    private final By myListItems = By.xpath("//div[contains(@class, 'list-item') or contains(@class, 'saved-item') or contains(@class, 'program-item')]");
-    private final By myListTitle = By.xpath("//h1[contains(text(), 'My List') or contains(text(), 'Saved Programs')] | //h2[contains(text(), 'My List')]");
-    private final By emptyListMessage = By.xpath("//div[contains(text(), 'empty') or contains(text(), 'no items') or contains(text(), 'No programs')]");
-    private final By removeButtons = By.xpath("//button[contains(text(), 'Remove') or contains(@class, 'remove')]");
+    private final By myListContainer = smartLocator("myListContainer",
+            By.cssSelector("div[class*='my-list']"),
+            By.cssSelector("div[class*='saved-programs']"));
+    private final By myListItems = smartLocator("myListItems",
+            By.cssSelector("div[class*='list-item']"),
+            By.cssSelector("div[class*='saved-item']"),
+            By.cssSelector("div[class*='program-item']"));
+    private final By myListTitle = smartLocator("myListTitle",
+            By.xpath("//h1[contains(text(), 'My List')]"),
+            By.xpath("//h1[contains(text(), 'Saved Programs')]"),
+            By.xpath("//h2[contains(text(), 'My List')]"));
+    private final By emptyListMessage = smartLocator("emptyListMessage",
+            By.xpath("//div[contains(text(), 'empty')]"),
+            By.xpath("//div[contains(text(), 'no items')]"),
+            By.xpath("//div[contains(text(), 'No programs')]"));
+    private final By removeButtons = smartLocator("removeButtons",
+            By.cssSelector("button[class*='remove']"),
+            By.xpath("//button[contains(text(), 'Remove')]"));
     
     // Navigation
-    private final By myListNavLink = By.xpath("//a[contains(text(), 'My List') or contains(@href, 'my-list')]");
+    private final By myListNavLink = smartLocator("myListNavLink",
+            By.cssSelector("a[href*='my-list']"),
+            By.xpath("//a[contains(text(), 'My List')]"));
+    
+    // Snapshot of the list items, dropped when the list changes through this page or the page navigates
+    private MyListIndex index;
     
     public MyListPage(WebDriver driver) {
         super(driver);
-        logger.info("MyListPage initialized");
+    }
+    
+    @Override
+    protected ReadinessContract readinessContract() {
+        // The items may be rendered after the container, so wait for them or the empty-state message
+        return ReadinessContract.keyElements(myListContainer).withAnyOf(myListItems, emptyListMessage);
     }
     
     /**
      * Navigates directly to My List page
      */
     public void navigateToMyList() {
+        TransitionStart start = startTransition();
+        index = null;
         // Try clicking navigation link first
         if (isElementDisplayed(myListNavLink)) {
             clickElement(myListNavLink);
+            waitUntilReady();
             logger.info("Clicked My List navigation link");
         } else {
             // Direct navigation as fallback
             String currentUrl = getCurrentUrl();
             String baseUrl = currentUrl.split("/")[0] + "//" + currentUrl.split("/")[2];
-            driver.get(baseUrl + "/my-list");
+            navigateTo(baseUrl + "/my-list");
             logger.info("Navigated directly to My List page");
         }
+        recordTransition(LOAD_TRANSITION, start);
+    }
+    
+    @Override
+    protected void navigateTo(String url) {
+        index = null;
+        super.navigateTo(url);
     }
     
     /**
-     * Checks if My List page is loaded
+     * Gets the index of the My List items, reading every item in a single browser round-trip the first time.
+     * The index is reused until an item is removed through this page or the page navigates. An empty read is
+     * only reused once the empty-state message shows, since the items may still be rendering.
+     * @return MyListIndex of the current items
+     */
+    public MyListIndex getIndex() {
+        if (index != null) {
+            return index;
+        }
+        MyListIndex read = MyListIndex.fromSnapshots(extractElements(myListItems));
+        if (read.size() > 0 || isElementDisplayed(emptyListMessage)) {
+            index = read;
+            logger.debug("Indexed My List: {}", index);
+        }
+        return read;
+    }
+    
+    /**
+     * Checks if My List page is loaded, i.e. its readiness contract holds
      * @return true if My List page is loaded
      */
     public boolean isMyListPageLoaded() {
-        return getCurrentUrl().contains("my-list") || 
-               isElementDisplayed(myListTitle) || 
-               isElementDisplayed(myListContainer);
+        return isReady();
     }
     
     /**
@@ -59,8 +113,7 @@ public class MyListPage extends BasePage {
      */
     public int getMyListItemCount() {
         try {
-            List<WebElement> items = driver.findElements(myListItems);
-            int count = items.size();
+            int count = getIndex().size();
             logger.info("Found {} items in My List", count);
             return count;
         } catch (Exception e) {
@@ -78,7 +131,7 @@ public class MyListPage extends BasePage {
     }
     
     /**
-     * Checks if a specific program is in My List
+     * Checks if a specific program is in My List by id, normalized name or card text; see {@link MyListIndex#contains}
      * @param programName The name of the program to check for
      * @return true if the program is found in My List
      */
@@ -88,26 +141,43 @@ public class MyListPage extends BasePage {
         }
         
         try {
-            // Look for program name in My List items
-            By programLocator = By.xpath("//div[contains(@class, 'list-item') or contains(@class, 'saved-item')][contains(., '" + programName + "')]");
-            boolean found = isElementDisplayed(programLocator);
+            boolean found = getIndex().contains(programName);
             logger.info("Program '{}' {} in My List", programName, found ? "found" : "not found");
             return found;
         } catch (Exception e) {
             logger.warn("Error checking for program '{}' in My List: {}", programName, e.getMessage());
-            return hasItemsInMyList(); // Fallback to checking if list has any items
+            return false;
         }
     }
     
+    /**
+     * Checks if a program with the given data-program-id is in My List
+     * @param programId Program id
+     * @return true if the program is found in My List
+     */
+    public boolean isProgramIdInMyList(String programId) {
+        return getIndex().containsProgramId(programId);
+    }
+    
+    /**
+     * Compares My List with the programs expected in it, without further browser queries once indexed
+     * @param expectedNames Names of the programs expected in My List
+     * @return Diff with the missing and unexpected programs
+     */
+    public MyListIndex.Diff diffMyList(Collection<String> expectedNames) {
+        MyListIndex.Diff diff = getIndex().diff(expectedNames);
+        logger.info("My List {}", diff);
+        return diff;
+    }
+    
     /**
      * Gets the text content of all items in My List
      * @return Array of item texts
      */
     public String[] getMyListItemTexts() {
         try {
-            List<WebElement> items = driver.findElements(myListItems);
-            return items.stream()
-                    .map(WebElement::getText)
+            return getIndex().getItems().stream()
+                    .map(ProgramRecord::getText)
                     .toArray(String[]::new);
         } catch (Exception e) {
             logger.warn("Could not get My List item texts: {}", e.getMessage());
@@ -116,22 +186,45 @@ public class MyListPage extends BasePage {
     }
     
     /**
-     * Removes the first item from My List
+     * Removes the first item from My List and waits, up to the mylist.removeTimeoutMillis system property
+     * (default 5 seconds), for the list to shrink. The index is rebuilt from the list read by that wait.
      * @return true if removal was successful
      */
     public boolean removeFirstItem() {
         try {
             if (isElementDisplayed(removeButtons)) {
+                int before = getIndex().size();
+                index = null;
                 clickElement(removeButtons);
+                List<ElementSnapshot> remaining = WaitScheduler.until("MyListPage item removed", () -> {
+                    List<ElementSnapshot> items = extractElements(myListItems);
+                    return items.size() < before ? items : null;
+                }, REMOVE_TIMEOUT, () -> "fewer than " + before + " My List items");
+                index = MyListIndex.fromSnapshots(remaining);
                 logger.info("Removed first item from My List");
                 return true;
             }
+        } catch (TimeoutException e) {
+            logger.warn("My List did not shrink after removing the first item: {}", e.getMessage());
         } catch (Exception e) {
             logger.warn("Could not remove item from My List: {}", e.getMessage());
         }
         return false;
     }
     
+    /**
+     * Removes every item from My List, one at a time
+     * @return true if the list ended up empty
+     */
+    public boolean clearMyList() {
+        while (!isMyListEmpty()) {
+            if (!removeFirstItem()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     /**
      * Checks if My List is empty
      * @return true if My List is empty
@@ -0,0 +1,69 @@
+package ca.epbc.qa.pages;
+
+/**
+ * One program card read from the search results: position in the stream, program id, name and institution
+ */
+public class ProgramRecord {
+    private final long position;
+    private final String programId;
+    private final String name;
+    private final String institution;
+    private final String text;
+    
+    public ProgramRecord(long position, String programId, String name, String institution, String text) {
+        this.position = position;
+        this.programId = programId;
+        this.name = name;
+        this.institution = institution;
+        this.text = text;
+    }
+    
+    /**
+     * Builds a record from a program card snapshot. The name is the first line of the card text; the institution
+     * comes from the data-institution attribute, falling back to the second line.
+     * @param position Zero-based position of the card in the results
+     * @param card Snapshot of the program card
+     * @return ProgramRecord
+     */
+    static ProgramRecord fromSnapshot(long position, ElementSnapshot card) {
+        String[] lines = card.getText().split("\\s*\\n\\s*");
+        String institution = card.getAttribute("data-institution");
+        if (institution == null) {
+            institution = lines.length > 1 ? lines[1] : "";
+        }
+        return new ProgramRecord(position, card.getAttribute("data-program-id"), lines[0], institution, card.getText());
+    }
+    
+    public long getPosition() {
+        return position;
+    }
+    
+    /**
+     * Gets the data-program-id of the card
+     * @return Program id, or null if the card does not carry one
+     */
+    public String getProgramId() {
+        return programId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getInstitution() {
+        return institution;
+    }
+    
+    /**
+     * Gets the full rendered text of the card
+     * @return Card text
+     */
+    public String getText() {
+        return text;
+    }
+    
+    @Override
+    public String toString() {
+        return "#" + position + " " + name + " (" + institution + (programId == null ? "" : ", " + programId) + ")";
+    }
+}
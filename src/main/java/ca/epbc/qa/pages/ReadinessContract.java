@@ -0,0 +1,103 @@
+package ca.epbc.qa.pages;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What must be true before a page is usable: a minimum document state, key elements that must be
+ * displayed, groups of alternatives of which at least one must be displayed, e.g. a list's items or its
+ * empty state, and an optional app-ready signal. {@link BasePage#waitUntilReady()} checks all of it in
+ * one script call per poll, which is what makes the eager and none page-load strategies safe to use.
+ */
+public final class ReadinessContract {
+    /** Only waits for the DOM to be parsed */
+    public static final ReadinessContract DOM_READY = new ReadinessContract("interactive", List.of(), List.of(), null);
+    
+    /** App-ready signal that holds once nothing on the page is marked aria-busy */
+    public static final String NOTHING_BUSY = "!document.querySelector('[aria-busy=\"true\"]')";
+    
+    private final String documentState;
+    private final List<By> keyElements;
+    private final List<List<By>> alternatives;
+    private final String appReadySignal;
+    private final String script;
+    
+    private ReadinessContract(String documentState, List<By> keyElements, List<List<By>> alternatives,
+                              String appReadySignal) {
+        this.documentState = documentState;
+        this.keyElements = Collections.unmodifiableList(new ArrayList<>(keyElements));
+        this.alternatives = Collections.unmodifiableList(new ArrayList<>(alternatives));
+        this.appReadySignal = appReadySignal;
+        this.script = DomQueries.READINESS_FUNCTIONS + "return epbcReadiness(arguments[0], arguments[1], "
+                + (appReadySignal == null ? "null" : "function () { return (" + appReadySignal + "); }")
+                + ", arguments[2]);";
+    }
+    
+    /**
+     * Creates a contract requiring the DOM to be parsed and every key element to be displayed
+     * @param keyElements Locators of the elements a test interacts with first
+     * @return ReadinessContract
+     */
+    public static ReadinessContract keyElements(By... keyElements) {
+        return new ReadinessContract("interactive", List.of(keyElements), List.of(), null);
+    }
+    
+    /**
+     * Adds a group of alternative elements of which at least one must be displayed
+     * @param anyOf Locators of the alternatives, e.g. a list's items and its empty-state message
+     * @return New contract with the group
+     */
+    public ReadinessContract withAnyOf(By... anyOf) {
+        List<List<By>> groups = new ArrayList<>(alternatives);
+        groups.add(List.of(anyOf));
+        return new ReadinessContract(documentState, keyElements, groups, appReadySignal);
+    }
+    
+    /**
+     * Adds an app-ready signal
+     * @param expression JavaScript expression that is truthy once the page's scripts are ready
+     * @return New contract with the signal
+     */
+    public ReadinessContract withAppReadySignal(String expression) {
+        return new ReadinessContract(documentState, keyElements, alternatives, expression);
+    }
+    
+    /**
+     * Raises or lowers the required document state
+     * @param state loading, interactive or complete
+     * @return New contract with the document state
+     */
+    public ReadinessContract withDocumentState(String state) {
+        return new ReadinessContract(state, keyElements, alternatives, appReadySignal);
+    }
+    
+    public String getDocumentState() {
+        return documentState;
+    }
+    
+    public List<By> getKeyElements() {
+        return keyElements;
+    }
+    
+    public List<List<By>> getAlternatives() {
+        return alternatives;
+    }
+    
+    public String getAppReadySignal() {
+        return appReadySignal;
+    }
+    
+    String script() {
+        return script;
+    }
+    
+    @Override
+    public String toString() {
+        return "document " + documentState + ", key elements " + keyElements
+                + (alternatives.isEmpty() ? "" : ", any of " + alternatives)
+                + (appReadySignal == null ? "" : ", app ready: " + appReadySignal);
+    }
+}
@@ -0,0 +1,70 @@
+package ca.epbc.qa.pages;
+
+/**
+ * Throughput of one pass over the search results with {@link SearchResultsPage#streamPrograms}
+ */
+public class ResultStreamStats {
+    private final long records;
+    private final long batches;
+    private final long loads;
+    private final long elapsedMillis;
+    private final boolean exhausted;
+    
+    public ResultStreamStats(long records, long batches, long loads, long elapsedMillis, boolean exhausted) {
+        this.records = records;
+        this.batches = batches;
+        this.loads = loads;
+        this.elapsedMillis = elapsedMillis;
+        this.exhausted = exhausted;
+    }
+    
+    /**
+     * Gets the number of program records handed to the stream
+     * @return Record count
+     */
+    public long getRecords() {
+        return records;
+    }
+    
+    /**
+     * Gets the number of extraction round-trips that returned records
+     * @return Batch count
+     */
+    public long getBatches() {
+        return batches;
+    }
+    
+    /**
+     * Gets the number of times more results were requested, by clicking "Load more" or scrolling
+     * @return Load count
+     */
+    public long getLoads() {
+        return loads;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    /**
+     * Checks whether the stream reached the end of the results rather than being closed early
+     * @return true if every result was read
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+    
+    /**
+     * Gets the throughput of the pass
+     * @return Records per second
+     */
+    public double getRecordsPerSecond() {
+        return records * 1000.0 / Math.max(1, elapsedMillis);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%d records in %d batches (%d loads) in %d ms, %.1f records/s%s",
+                records, batches, loads, elapsedMillis, getRecordsPerSecond(), exhausted ? "" : ", stopped early");
+    }
+}
@@ -1,10 +1,20 @@
 package ca.epbc.qa.pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Page Object Model for the EPBC Search Results Page
@@ -12,53 +22,114 @@ import java.util.List;
 public class SearchResultsPage extends BasePage {
     
     // Search and Filter Locators
-    private final By searchResultsContainer = By.xpath("//div[contains(@class, 'search-results') or contains(@class, 'results')]");
-    private final By filterButton = By.xpath("//button[contains(text(), 'Filter') or contains(text(), 'Filters')]");
-    private final By areasOfStudyFilter = By.xpath("//div[contains(text(), 'Areas of Study') or contains(text(), 'Area of Study')]");
-    private final By technologyITFilter = By.xpath("//label[contains(text(), 'Technology') and contains(text(), 'IT')] | //input[@value*='technology' or @value*='IT']");
-    private final By applyFiltersButton = By.xpath("//button[contains(text(), 'Apply') or contains(text(), 'Filter')]");
+    private final By searchResultsContainer = fallbackLocator("searchResultsContainer",
+            By.cssSelector("div.search-results"),
+            By.cssSelector("div[class*='results']"));
+    private final By filterButton = By.xpath("//button[contains(text(), 'Filter')]");
+    private final By areasOfStudyFilter = smartLocator("areasOfStudyFilter",
+            By.xpath("//div[contains(text(), 'Areas of Study')]"),
+            By.xpath("//div[contains(text(), 'Area of Study')]"));
+    private final By technologyITFilter = fallbackLocator("technologyITFilter",
+            By.cssSelector("input[value*='technology']"),
+            By.cssSelector("input[value*='IT']"),
+            By.xpath("//label[contains(text(), 'Technology') and contains(text(), 'IT')]"));
+    private final By applyFiltersButton = fallbackLocator("applyFiltersButton",
+            By.xpath("//button[contains(text(), 'Apply')]"),
+            By.xpath("//button[contains(text(), 'Filter')]"));
     
     // Program Result Locators
-    private final By programCards = By.xpath("//div[contains(@class, 'program') or contains(@class, 'course') or contains(@class, 'result')]");
-    private final By addToMyListButtons = By.xpath("//button[contains(text(), 'Add to My List') or contains(text(), 'Add to List') or contains(@class, 'add-to-list')]");
-    private final By firstAddToMyListButton = By.xpath("(//button[contains(text(), 'Add to My List') or contains(text(), 'Add to List') or contains(@class, 'add-to-list')])[1]");
+    private final By programCards = fallbackLocator("programCards",
+            By.cssSelector("div[class*='program']"),
+            By.cssSelector("div[class*='course']"),
+            By.cssSelector("div[class*='result']"));
+    // Clicking a collection locator acts on its first match, i.e. the first program's button
+    private final By addToMyListButtons = smartLocator("addToMyListButtons",
+            By.cssSelector("button[class*='add-to-list']"),
+            By.xpath("//button[contains(text(), 'Add to My List') or contains(text(), 'Add to List')]"));
+    private final By loadMoreButton = smartLocator("loadMoreButton",
+            By.cssSelector("button[class*='load-more']"),
+            By.xpath("//button[contains(text(), 'Load more') or contains(text(), 'Show more')]"));
+    private final By myListLink = smartLocator("myListLink",
+            By.cssSelector("a[href*='my-list']"),
+            By.xpath("//a[contains(text(), 'My List')]"),
+            By.xpath("//button[contains(text(), 'My List')]"));
     
     // Alternative locators for different page structures
-    private final By filterDropdown = By.xpath("//select[contains(@name, 'filter') or contains(@name, 'area')]");
-    private final By technologyOption = By.xpath("//option[contains(text(), 'Technology') or contains(text(), 'IT')]");
+    private final By filterDropdown = smartLocator("filterDropdown",
+            By.cssSelector("select[name*='filter']"),
+            By.cssSelector("select[name*='area']"));
+    private final By technologyOption = fallbackLocator("technologyOption",
+            By.xpath("//option[contains(text(), 'Technology')]"),
+            By.xpath("//option[contains(text(), 'IT')]"));
+    
+    private static final Duration SETTLE_QUIET_PERIOD =
+            Duration.ofMillis(Long.getLong("results.settle.quietMillis", 300L));
+    private static final Duration SETTLE_GRACE =
+            Duration.ofMillis(Long.getLong("results.settle.graceMillis", 1_000L));
+    private static final Duration SETTLE_TIMEOUT =
+            Duration.ofMillis(Long.getLong("results.settle.timeoutMillis", 10_000L));
+    
+    private static final int STREAM_BATCH_SIZE = Math.max(1, Integer.getInteger("results.stream.batchSize", 50));
+    private static final boolean STREAM_PRUNE = Boolean.getBoolean("results.stream.prune");
+    private static final Duration LOAD_MORE_TIMEOUT =
+            Duration.ofMillis(Long.getLong("results.stream.loadTimeoutMillis", 5_000L));
+    private static final Duration SCROLL_LOAD_TIMEOUT =
+            Duration.ofMillis(Long.getLong("results.stream.scrollTimeoutMillis", 1_500L));
+    private static final AtomicLong STREAM_IDS = new AtomicLong();
+    
+    // Filter panels animate open, so controls revealed by a click get a short probe budget
+    private static final Duration REVEAL_BUDGET = Duration.ofSeconds(2);
+    
+    // Start of the filter transition, recorded once the results settle
+    private TransitionStart filterStartedAt;
+    
+    private volatile ResultStreamStats lastStreamStats;
     
     public SearchResultsPage(WebDriver driver) {
         super(driver);
-        logger.info("SearchResultsPage initialized");
+    }
+    
+    @Override
+    protected ReadinessContract readinessContract() {
+        return ReadinessContract.keyElements(searchResultsContainer)
+                .withAppReadySignal(ReadinessContract.NOTHING_BUSY);
     }
     
     /**
-     * Applies the Areas of Study filter for Technology (IT)
+     * Applies the Areas of Study filter for Technology (IT).
+     * Follow with {@link #waitForResultsToSettle()} before reading the filtered results.
      */
     public void applyAreasOfStudyFilter() {
+        filterStartedAt = startTransition();
+        armSettleTracking(searchResultsContainer);
         try {
+            boolean[] entryPoints = probeDisplayed(filterButton, areasOfStudyFilter, technologyITFilter, filterDropdown);
+            boolean revealed = false;
+            
             // Method 1: Try clicking filter button first
-            if (isElementDisplayed(filterButton)) {
+            if (entryPoints[0]) {
                 clickElement(filterButton);
+                revealed = true;
                 logger.info("Clicked filter button");
             }
             
             // Method 2: Try Areas of Study section
-            if (isElementDisplayed(areasOfStudyFilter)) {
+            if (revealed ? isElementDisplayed(areasOfStudyFilter, REVEAL_BUDGET) : entryPoints[1]) {
                 clickElement(areasOfStudyFilter);
+                revealed = true;
                 logger.info("Clicked Areas of Study filter");
             }
             
             // Method 3: Try Technology/IT checkbox or option
-            if (isElementDisplayed(technologyITFilter)) {
+            if (revealed ? isElementDisplayed(technologyITFilter, REVEAL_BUDGET) : entryPoints[2]) {
                 clickElement(technologyITFilter);
                 logger.info("Selected Technology (IT) filter");
             }
             
             // Method 4: Try dropdown approach
-            if (isElementDisplayed(filterDropdown)) {
+            if (revealed ? isElementDisplayed(filterDropdown) : entryPoints[3]) {
                 clickElement(filterDropdown);
-                if (isElementDisplayed(technologyOption)) {
+                if (isElementDisplayed(technologyOption, REVEAL_BUDGET)) {
                     clickElement(technologyOption);
                     logger.info("Selected Technology from dropdown");
                 }
@@ -76,34 +147,61 @@ public class SearchResultsPage extends BasePage {
         }
     }
     
+    /**
+     * Waits until the results region has changed and then stopped changing, with no search request in flight.
+     * The quiet period, the grace period for a filter that changes nothing and the timeout come from the
+     * results.settle.quietMillis, results.settle.graceMillis and results.settle.timeoutMillis system properties.
+     * @return SettleResult with the time actually waited
+     */
+    public SettleResult waitForResultsToSettle() {
+        SettleResult result = waitForSettled(searchResultsContainer, SETTLE_QUIET_PERIOD, SETTLE_GRACE, SETTLE_TIMEOUT);
+        if (filterStartedAt != null) {
+            recordTransition("filter.apply", filterStartedAt);
+            filterStartedAt = null;
+        }
+        if (result.isSettled()) {
+            logger.info("Search results {}", result);
+        } else {
+            logger.warn("Search results {}", result);
+        }
+        return result;
+    }
+    
     /**
      * Adds the first program to My List
      * @return The name/title of the program added
      */
     public String addFirstProgramToMyList() {
-        String programName = "";
-        
+        ProgramRecord program = addFirstProgram();
+        return program == null ? "" : program.getName();
+    }
+    
+    /**
+     * Adds the first program to My List
+     * @return Record of the program added, including its data-program-id, or null if nothing was added
+     */
+    public ProgramRecord addFirstProgram() {
         try {
-            // Get program name before clicking add to list
-            List<WebElement> programs = driver.findElements(programCards);
-            if (!programs.isEmpty()) {
-                programName = programs.get(0).getText();
-                logger.info("Found program: {}", programName);
+            // Read the program before clicking add to list
+            List<ElementSnapshot> programs = extractElements(programCards);
+            if (programs.isEmpty()) {
+                logger.warn("No program found to add to My List");
+                return null;
             }
+            ProgramRecord program = ProgramRecord.fromSnapshot(0, programs.get(0));
+            logger.info("Found program: {}", program);
             
             // Click the first "Add to My List" button
-            if (isElementDisplayed(firstAddToMyListButton)) {
-                clickElement(firstAddToMyListButton);
+            if (isElementDisplayed(addToMyListButtons)) {
+                clickElement(addToMyListButtons);
                 logger.info("Clicked 'Add to My List' for first program");
-            } else {
-                logger.warn("No 'Add to My List' button found");
+                return program;
             }
-            
+            logger.warn("No 'Add to My List' button found");
         } catch (Exception e) {
             logger.error("Error adding program to My List: {}", e.getMessage());
         }
-        
-        return programName;
+        return null;
     }
     
     /**
@@ -112,8 +210,7 @@ public class SearchResultsPage extends BasePage {
      */
     public int getSearchResultsCount() {
         try {
-            List<WebElement> results = driver.findElements(programCards);
-            int count = results.size();
+            int count = extractElements(programCards).size();
             logger.info("Found {} search results", count);
             return count;
         } catch (Exception e) {
@@ -122,6 +219,48 @@ public class SearchResultsPage extends BasePage {
         }
     }
     
+    /**
+     * Streams the program cards lazily in batches of the results.stream.batchSize system property (default 50)
+     * @return Stream of program records in result order; see {@link #streamPrograms(int)}
+     */
+    public Stream<ProgramRecord> streamPrograms() {
+        return streamPrograms(STREAM_BATCH_SIZE);
+    }
+    
+    /**
+     * Streams the program cards lazily. Cards are read one batch per browser round-trip and only the current
+     * batch is held; when every rendered card has been read the stream clicks "Load more" or scrolls to the
+     * bottom and waits for the next cards, ending when no more arrive. Short-circuiting operations such as
+     * findFirst stop paging as soon as they are satisfied. With results.stream.prune=true cards are removed
+     * from the DOM once read, keeping very long lists small at the cost of the page's other card actions.
+     * Throughput is logged when the stream ends or is closed and kept in {@link #getLastStreamStats()}.
+     * @param batchSize Maximum number of cards read per round-trip
+     * @return Stream of program records in result order; must be consumed on the test thread
+     */
+    public Stream<ProgramRecord> streamPrograms(int batchSize) {
+        ProgramSpliterator spliterator = new ProgramSpliterator(Math.max(1, batchSize));
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::finish);
+    }
+    
+    /**
+     * Finds the first program matching a predicate, paging through the results only as far as needed
+     * @param predicate Condition the program must meet
+     * @return First matching program, or empty if no result matches
+     */
+    public Optional<ProgramRecord> findFirstProgram(Predicate<ProgramRecord> predicate) {
+        try (Stream<ProgramRecord> programs = streamPrograms()) {
+            return programs.filter(predicate).findFirst();
+        }
+    }
+    
+    /**
+     * Gets the throughput of the most recent {@link #streamPrograms} pass on this page
+     * @return ResultStreamStats, or null if no stream has ended yet
+     */
+    public ResultStreamStats getLastStreamStats() {
+        return lastStreamStats;
+    }
+    
     /**
      * Checks if search results are displayed
      * @return true if search results are visible
@@ -135,17 +274,113 @@ public class SearchResultsPage extends BasePage {
      * @return MyListPage instance
      */
     public MyListPage goToMyList() {
+        MyListPage myListPage = new MyListPage(driver);
+        TransitionStart start = startTransition();
         // Look for My List link/button
-        By myListLink = By.xpath("//a[contains(text(), 'My List') or contains(@href, 'my-list')] | //button[contains(text(), 'My List')]");
-        
         if (isElementDisplayed(myListLink)) {
             clickElement(myListLink);
+            myListPage.waitUntilReady();
             logger.info("Navigated to My List");
         } else {
             logger.warn("My List link not found, trying direct navigation");
-            driver.get(getCurrentUrl().replace("/search", "/my-list"));
+            myListPage.navigateTo(getCurrentUrl().replace("/search", "/my-list"));
+        }
+        myListPage.recordTransition(MyListPage.LOAD_TRANSITION, start);
+        
+        return myListPage;
+    }
+    
+    /**
+     * Walks the program cards one batch at a time, tagging each batch with a per-stream marker so a second
+     * stream on the same page starts again from the first card
+     */
+    private final class ProgramSpliterator implements Spliterator<ProgramRecord> {
+        private final String marker = "stream-" + STREAM_IDS.incrementAndGet();
+        private final int batchSize;
+        private final long startNanos = System.nanoTime();
+        private Iterator<ElementSnapshot> batch = Collections.emptyIterator();
+        private long records;
+        private long batches;
+        private long loads;
+        private boolean exhausted;
+        private boolean finished;
+        
+        ProgramSpliterator(int batchSize) {
+            this.batchSize = batchSize;
         }
         
-        return new MyListPage(driver);
+        @Override
+        public boolean tryAdvance(Consumer<? super ProgramRecord> action) {
+            if (!batch.hasNext() && !nextBatch()) {
+                finish();
+                return false;
+            }
+            action.accept(ProgramRecord.fromSnapshot(records++, batch.next()));
+            return true;
+        }
+        
+        private boolean nextBatch() {
+            if (exhausted) {
+                return false;
+            }
+            List<ElementSnapshot> next = extractBatch(programCards, marker, batchSize, STREAM_PRUNE);
+            if (next.isEmpty()) {
+                next = loadMore();
+            }
+            if (next.isEmpty()) {
+                exhausted = true;
+                return false;
+            }
+            batches++;
+            batch = next.iterator();
+            return true;
+        }
+        
+        private List<ElementSnapshot> loadMore() {
+            Duration timeout;
+            if (isElementDisplayed(loadMoreButton)) {
+                clickElement(loadMoreButton);
+                timeout = LOAD_MORE_TIMEOUT;
+            } else if (scrollToBottom()) {
+                timeout = SCROLL_LOAD_TIMEOUT;
+            } else {
+                return Collections.emptyList();
+            }
+            loads++;
+            try {
+                return WaitScheduler.until("SearchResultsPage more results", () -> {
+                    List<ElementSnapshot> next = extractBatch(programCards, marker, batchSize, STREAM_PRUNE);
+                    return next.isEmpty() ? null : next;
+                }, timeout, () -> "more program cards after " + records + " records");
+            } catch (TimeoutException e) {
+                return Collections.emptyList();
+            }
+        }
+        
+        void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            batch = Collections.emptyIterator();
+            lastStreamStats = new ResultStreamStats(records, batches, loads,
+                    Duration.ofNanos(System.nanoTime() - startNanos).toMillis(), exhausted);
+            logger.info("Streamed search results: {}", lastStreamStats);
+        }
+        
+        @Override
+        public Spliterator<ProgramRecord> trySplit() {
+            return null;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
     }
-}
\ No newline at end of file
+}
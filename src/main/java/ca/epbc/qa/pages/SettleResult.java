@@ -0,0 +1,76 @@
+package ca.epbc.qa.pages;
+
+/**
+ * Outcome of waiting for a page region to stop changing
+ */
+public class SettleResult {
+    private final boolean settled;
+    private final long waitedMillis;
+    private final long mutationCount;
+    private final long requestCount;
+    private final long pendingRequests;
+    
+    public SettleResult(boolean settled, long waitedMillis, long mutationCount, long requestCount,
+                        long pendingRequests) {
+        this.settled = settled;
+        this.waitedMillis = waitedMillis;
+        this.mutationCount = mutationCount;
+        this.requestCount = requestCount;
+        this.pendingRequests = pendingRequests;
+    }
+    
+    /**
+     * Checks whether the region went quiet before the timeout
+     * @return true if settled, false if the wait timed out
+     */
+    public boolean isSettled() {
+        return settled;
+    }
+    
+    /**
+     * Gets how long the caller actually waited, including the browser round-trip
+     * @return Wait time in milliseconds
+     */
+    public long getWaitedMillis() {
+        return waitedMillis;
+    }
+    
+    /**
+     * Gets the number of DOM mutations observed in the region since tracking was armed
+     * @return Mutation count
+     */
+    public long getMutationCount() {
+        return mutationCount;
+    }
+    
+    /**
+     * Gets the number of XHR/fetch requests started since tracking was armed
+     * @return Request count
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+    
+    /**
+     * Checks whether anything changed after the action; false means the wait ended after the grace period
+     * without a single mutation or request
+     * @return true if a mutation or request was seen
+     */
+    public boolean hasChanged() {
+        return mutationCount > 0 || requestCount > 0;
+    }
+    
+    /**
+     * Gets the number of XHR/fetch requests still in flight when the wait ended
+     * @return Pending request count
+     */
+    public long getPendingRequests() {
+        return pendingRequests;
+    }
+    
+    @Override
+    public String toString() {
+        return (settled ? (hasChanged() ? "settled" : "unchanged") : "timed out") + " after " + waitedMillis + " ms ("
+                + mutationCount + " mutations, " + requestCount + " requests, " + pendingRequests + " pending)";
+    }
+}
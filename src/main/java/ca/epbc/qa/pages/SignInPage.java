@@ -1,35 +1,66 @@
 package ca.epbc.qa.pages;
 
+import ca.epbc.qa.utils.TestDataGenerator;
+import ca.epbc.qa.utils.TestUser;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 
+import java.time.Duration;
+
 /**
  * Page Object Model for the EPBC Sign In/Registration Page
  */
 public class SignInPage extends BasePage {
+    // How long a submitted form may take to show its outcome; what the checks used to get from the implicit wait
+    private static final Duration OUTCOME_TIMEOUT = Duration.ofSeconds(10);
     
     // Sign In Locators
-    private final By emailField = By.xpath("//input[@type='email' or @name='email' or @id='email']");
-    private final By passwordField = By.xpath("//input[@type='password' or @name='password' or @id='password']");
-    private final By signInButton = By.xpath("//button[@type='submit' or contains(text(), 'Sign In') or contains(text(), 'Log In')]");
+    private final By emailField = smartLocator("emailField",
+            By.id("email"),
+            By.cssSelector("input[type='email']"),
+            By.cssSelector("input[name='email']"));
+    private final By passwordField = smartLocator("passwordField",
+            By.id("password"),
+            By.cssSelector("input[type='password']"),
+            By.cssSelector("input[name='password']"));
+    private final By signInButton = fallbackLocator("signInButton",
+            By.cssSelector("button[type='submit']"),
+            By.xpath("//button[contains(text(), 'Sign In') or contains(text(), 'Log In')]"));
     
     // Registration Locators
-    private final By createAccountTab = By.xpath("//a[contains(text(), 'Create Account') or contains(text(), 'Register')]");
-    private final By firstNameField = By.xpath("//input[@name='firstName' or @id='firstName' or @placeholder*='First']");
-    private final By lastNameField = By.xpath("//input[@name='lastName' or @id='lastName' or @placeholder*='Last']");
-    private final By registerEmailField = By.xpath("//input[@type='email' and (@name='email' or @id='email')]");
-    private final By registerPasswordField = By.xpath("//input[@type='password' and (@name='password' or @id='password')]");
-    private final By confirmPasswordField = By.xpath("//input[@type='password' and (@name='confirmPassword' or @id='confirmPassword' or @placeholder*='Confirm')]");
-    private final By createAccountButton = By.xpath("//button[@type='submit' or contains(text(), 'Create Account') or contains(text(), 'Register')]");
-    private final By termsCheckbox = By.xpath("//input[@type='checkbox']");
+    private final By createAccountTab = smartLocator("createAccountTab",
+            By.xpath("//a[contains(text(), 'Create Account')]"),
+            By.xpath("//a[contains(text(), 'Register')]"));
+    private final By firstNameField = smartLocator("firstNameField",
+            By.id("firstName"),
+            By.cssSelector("input[name='firstName']"),
+            By.cssSelector("input[placeholder*='First']"));
+    private final By lastNameField = smartLocator("lastNameField",
+            By.id("lastName"),
+            By.cssSelector("input[name='lastName']"),
+            By.cssSelector("input[placeholder*='Last']"));
+    private final By registerEmailField = smartLocator("registerEmailField",
+            By.cssSelector("input[type='email']#email"),
+            By.cssSelector("input[type='email'][name='email']"));
+    private final By registerPasswordField = smartLocator("registerPasswordField",
+            By.cssSelector("input[type='password']#password"),
+            By.cssSelector("input[type='password'][name='password']"));
+    private final By confirmPasswordField = smartLocator("confirmPasswordField",
+            By.cssSelector("input[type='password']#confirmPassword"),
+            By.cssSelector("input[type='password'][name='confirmPassword']"),
+            By.cssSelector("input[type='password'][placeholder*='Confirm']"));
+    private final By createAccountButton = fallbackLocator("createAccountButton",
+            By.cssSelector("button[type='submit']"),
+            By.xpath("//button[contains(text(), 'Create Account') or contains(text(), 'Register')]"));
+    private final By termsCheckbox = By.cssSelector("input[type='checkbox']");
     
     // Success/Error Messages
-    private final By successMessage = By.xpath("//div[contains(@class, 'success') or contains(@class, 'alert-success')]");
-    private final By errorMessage = By.xpath("//div[contains(@class, 'error') or contains(@class, 'alert-error')]");
+    private final By successMessage = By.cssSelector("div[class*='success']");
+    private final By errorMessage = By.cssSelector("div[class*='error']");
     
     public SignInPage(WebDriver driver) {
         super(driver);
-        logger.info("SignInPage initialized");
     }
     
     /**
@@ -60,23 +91,27 @@ public class SignInPage extends BasePage {
             clickElement(createAccountTab);
         }
         
+        // The email field is always part of the form; once it shows, check the optional fields in one round-trip
+        waitForElementVisible(registerEmailField);
+        boolean[] optionalFields = probeDisplayed(firstNameField, lastNameField, confirmPasswordField, termsCheckbox);
+        
         // Fill registration form
-        if (isElementDisplayed(firstNameField)) {
+        if (optionalFields[0]) {
             typeText(firstNameField, firstName);
         }
-        if (isElementDisplayed(lastNameField)) {
+        if (optionalFields[1]) {
             typeText(lastNameField, lastName);
         }
         
         typeText(registerEmailField, email);
         typeText(registerPasswordField, password);
         
-        if (isElementDisplayed(confirmPasswordField)) {
+        if (optionalFields[2]) {
             typeText(confirmPasswordField, password);
         }
         
         // Accept terms if checkbox is present
-        if (isElementDisplayed(termsCheckbox)) {
+        if (optionalFields[3]) {
             clickElement(termsCheckbox);
         }
         
@@ -85,35 +120,40 @@ public class SignInPage extends BasePage {
         return new HomePage(driver);
     }
     
+    /**
+     * Creates a new account for the given test user
+     * @param user Test user credentials
+     * @return HomePage instance after successful registration
+     */
+    public HomePage createNewAccount(TestUser user) {
+        return createNewAccount(user.getFirstName(), user.getLastName(), user.getEmail(), user.getPassword());
+    }
+    
     /**
      * Creates a new account with generated credentials
      * @return HomePage instance after successful registration
      */
     public HomePage createNewAccountWithGeneratedCredentials() {
-        long timestamp = System.currentTimeMillis();
-        String email = "testuser" + timestamp + "@example.com";
-        String password = "TestPassword123!";
-        String firstName = "Test";
-        String lastName = "User";
-        
-        return createNewAccount(firstName, lastName, email, password);
+        return createNewAccount(TestDataGenerator.newUser());
     }
     
     /**
-     * Checks if sign in was successful
+     * Checks if sign in was successful, waiting up to 10 seconds for the submitted form to redirect
+     * away from sign-in/registration or show a success or error message
      * @return true if sign in was successful
      */
     public boolean isSignInSuccessful() {
-        // Check if we're redirected away from sign in page or if success message is shown
-        return !getCurrentUrl().contains("sign-in") || isElementDisplayed(successMessage);
+        String outcome = awaitOutcome();
+        return "redirected".equals(outcome) || "success".equals(outcome);
     }
     
     /**
-     * Checks if there's an error message displayed
+     * Checks if the submitted form shows an error message, waiting up to 10 seconds
+     * for the form to show its outcome
      * @return true if error message is displayed
      */
     public boolean isErrorDisplayed() {
-        return isElementDisplayed(errorMessage);
+        return "error".equals(awaitOutcome());
     }
     
     /**
@@ -126,4 +166,24 @@ public class SignInPage extends BasePage {
         }
         return "";
     }
+    
+    /**
+     * Waits for the submitted form to leave the sign-in/registration URL or show a success or error message
+     * @return redirected, success or error; null if none of them happened within the budget
+     */
+    private String awaitOutcome() {
+        try {
+            return WaitScheduler.until("SignInPage outcome", () -> {
+                String url = getCurrentUrl();
+                if (!url.contains("sign-in") && !url.contains("register")) {
+                    return "redirected";
+                }
+                boolean[] displayed = probeDisplayed(successMessage, errorMessage);
+                return displayed[0] ? "success" : displayed[1] ? "error" : null;
+            }, OUTCOME_TIMEOUT, () -> "sign in or registration to complete");
+        } catch (TimeoutException e) {
+            logger.warn("No sign in outcome after {} s on {}", OUTCOME_TIMEOUT.getSeconds(), getCurrentUrl());
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package ca.epbc.qa.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Locator holding ordered candidate strategies (id, then CSS, then XPath) for the same element.
+ * Lookups return the matches of the first candidate that finds anything, trying the candidates that
+ * matched most often first; see {@link LocatorLearning}. Candidates that may select different elements
+ * are always tried in declared order; their hits are still counted for the fallback report.
+ */
+public class SmartLocator extends By {
+    private final String page;
+    private final String name;
+    private final String key;
+    private final List<By> candidates;
+    private final boolean learnOrder;
+
+    /**
+     * Creates a locator from candidates that all select the same element, declared in order of preference
+     * @param page Page object name
+     * @param name Locator name within the page
+     * @param candidates Candidate locators, cheapest strategy first
+     */
+    public SmartLocator(String page, String name, By... candidates) {
+        this(page, name, true, candidates);
+    }
+
+    /**
+     * Creates a locator from candidates declared in order of preference
+     * @param page Page object name
+     * @param name Locator name within the page
+     * @param learnOrder Whether lookups may try the most frequent candidate first; false when the candidates
+     *                   may select different elements, so the declared order decides which one is used
+     * @param candidates Candidate locators, cheapest strategy first
+     */
+    public SmartLocator(String page, String name, boolean learnOrder, By... candidates) {
+        if (candidates.length == 0) {
+            throw new IllegalArgumentException("SmartLocator " + page + "." + name + " needs at least one candidate");
+        }
+        this.page = page;
+        this.name = name;
+        this.key = LocatorLearning.key(page, name);
+        this.candidates = List.of(candidates);
+        this.learnOrder = learnOrder;
+    }
+
+    /**
+     * Gets the candidates in the order they will be tried on the next lookup
+     * @return Ordered candidate locators
+     */
+    public List<By> orderedCandidates() {
+        int[] order = lookupOrder();
+        List<By> ordered = new ArrayList<>(order.length);
+        for (int index : order) {
+            ordered.add(candidates.get(index));
+        }
+        return ordered;
+    }
+
+    /**
+     * Records that a candidate matched so it moves up the lookup order and the candidates tried before it move down
+     * @param candidate One of this locator's candidates
+     */
+    void recordHit(By candidate) {
+        int index = candidates.indexOf(candidate);
+        if (index >= 0) {
+            LocatorLearning.recordHit(key, lookupOrder(), index);
+        }
+    }
+
+    private int[] lookupOrder() {
+        if (learnOrder) {
+            return LocatorLearning.lookupOrder(key, candidates.size());
+        }
+        int[] declared = new int[candidates.size()];
+        for (int i = 0; i < declared.length; i++) {
+            declared[i] = i;
+        }
+        return declared;
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        List<By> ordered = orderedCandidates();
+        if (context instanceof JavascriptExecutor) {
+            List<List<String>> specs = DomQueries.toSpecs(ordered);
+            if (specs != null) {
+                try {
+                    return findWithScript((JavascriptExecutor) context, ordered, specs);
+                } catch (WebDriverException | ClassCastException e) {
+                    // Fall through to one driver lookup per candidate
+                }
+            }
+        }
+        return findWithDriver(context, ordered);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WebElement> findWithScript(JavascriptExecutor executor, List<By> ordered, List<List<String>> specs) {
+        List<Object> result = (List<Object>) executor.executeScript(DomQueries.FIND_FIRST_CANDIDATE, specs);
+        int matched = ((Number) result.get(0)).intValue();
+        if (matched < 0) {
+            return Collections.emptyList();
+        }
+        recordHit(ordered.get(matched));
+        return (List<WebElement>) result.get(1);
+    }
+
+    private List<WebElement> findWithDriver(SearchContext context, List<By> ordered) {
+        for (By candidate : ordered) {
+            List<WebElement> elements = context.findElements(candidate);
+            if (!elements.isEmpty()) {
+                recordHit(candidate);
+                return elements;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public String toString() {
+        return "SmartLocator " + page + "." + name + ": " + candidates;
+    }
+}
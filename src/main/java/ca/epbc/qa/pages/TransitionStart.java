@@ -0,0 +1,46 @@
+package ca.epbc.qa.pages;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Start marker of a page transition, sampled just before the action: the JVM clock for the duration,
+ * the browser clock for comparing with Navigation and Resource Timing, and the cumulative CDP counters
+ * the end sample is diffed against
+ */
+public class TransitionStart {
+    private final long startedAtMillis;
+    private final long browserMillis;
+    private final Map<String, Double> cdpCounters;
+
+    public TransitionStart(long startedAtMillis, long browserMillis, Map<String, Double> cdpCounters) {
+        this.startedAtMillis = startedAtMillis;
+        this.browserMillis = browserMillis;
+        this.cdpCounters = Collections.unmodifiableMap(new LinkedHashMap<>(cdpCounters));
+    }
+
+    /**
+     * Gets the start on the JVM clock
+     * @return Epoch milliseconds
+     */
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    /**
+     * Gets the start on the browser clock (Date.now()), or the JVM clock if the browser could not be asked
+     * @return Epoch milliseconds
+     */
+    public long getBrowserMillis() {
+        return browserMillis;
+    }
+
+    /**
+     * Gets the cumulative CDP Performance.getMetrics counters at the start
+     * @return Counter values by metric name; empty without Chromium or performance capture
+     */
+    public Map<String, Double> getCdpCounters() {
+        return cdpCounters;
+    }
+}
@@ -0,0 +1,168 @@
+package ca.epbc.qa.pages;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Polls page waits with an adaptive interval. A condition is checked on the calling thread right away; while it
+ * does not hold, the caller sleeps between checks, starting with a short interval and doubling it up to a
+ * maximum, so quick waits are noticed within milliseconds and long waits cost few browser calls. Each wait runs
+ * only on its own thread, so a slow session never delays the waits of others.
+ * The typical time-to-ready of each wait key (page, condition and locator) is learned and shapes later waits
+ * under that key: the first re-check comes after an eighth of it and the interval never grows past a quarter
+ * of it, so a wait that takes its usual time is noticed soon after it becomes ready without polling a slow
+ * condition every few milliseconds. The immediate first check is never deferred.
+ * Tuned with wait.poll.initialMillis (default 20) and wait.poll.maxMillis (default 500), which bound the
+ * learned intervals too.
+ */
+public final class WaitScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(WaitScheduler.class);
+    static final long INITIAL_POLL_MILLIS = Math.max(1, Long.getLong("wait.poll.initialMillis", 20L));
+    static final long MAX_POLL_MILLIS = Math.max(INITIAL_POLL_MILLIS, Long.getLong("wait.poll.maxMillis", 500L));
+    private static final double LEARNING_RATE = 0.3;
+    private static final Map<String, Double> expectedReadyMillis = new ConcurrentHashMap<>();
+    private static final LongAdder waits = new LongAdder();
+    private static final LongAdder readyOnFirstCheck = new LongAdder();
+    private static final LongAdder polledChecks = new LongAdder();
+    private static final LongAdder timeouts = new LongAdder();
+
+    private WaitScheduler() {
+    }
+
+    /**
+     * Waits until a condition returns a value other than null or false. NotFoundException and
+     * StaleElementReferenceException count as "not yet"; any other exception ends the wait.
+     * @param key Wait key the time-to-ready is learned under, e.g. "HomePage visible By.id: search"
+     * @param condition Condition to check; only ever run on the calling thread
+     * @param timeout Maximum time to wait
+     * @param description Describes the condition in the timeout message
+     * @param <T> Condition result type
+     * @return First value that satisfied the condition
+     * @throws TimeoutException if the condition does not hold within the timeout
+     */
+    public static <T> T until(String key, Supplier<T> condition, Duration timeout, Supplier<String> description) {
+        waits.increment();
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + timeout.toNanos();
+        Double expected = expectedReadyMillis.get(key);
+        long pollMillis = firstPollMillis(expected);
+        long maxPollMillis = maxPollMillis(expected);
+        int checks = 0;
+        RuntimeException lastIgnored = null;
+        while (true) {
+            checks++;
+            try {
+                T value = condition.get();
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    if (checks == 1) {
+                        readyOnFirstCheck.increment();
+                    } else {
+                        polledChecks.add(checks - 1);
+                    }
+                    learn(key, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastIgnored = e;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingMillis <= 0) {
+                polledChecks.add(checks - 1);
+                timeouts.increment();
+                throw new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d ms with %d checks)",
+                        description.get(), timeout.toMillis(), checks), lastIgnored);
+            }
+            try {
+                Thread.sleep(Math.min(pollMillis, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for " + description.get(), e);
+            }
+            pollMillis = nextPollMillis(pollMillis, maxPollMillis);
+        }
+    }
+
+    /**
+     * Gets the interval after the given one for a wait key with nothing learned: double, up to wait.poll.maxMillis
+     * @param pollMillis Current interval between checks
+     * @return Next interval in milliseconds
+     */
+    static long nextPollMillis(long pollMillis) {
+        return nextPollMillis(pollMillis, MAX_POLL_MILLIS);
+    }
+
+    /**
+     * Gets the interval after the given one: double, up to the maximum
+     * @param pollMillis Current interval between checks
+     * @param maxPollMillis Maximum interval of the wait
+     * @return Next interval in milliseconds
+     */
+    static long nextPollMillis(long pollMillis, long maxPollMillis) {
+        return Math.min(pollMillis * 2, maxPollMillis);
+    }
+
+    /**
+     * Gets the interval between the immediate first check and the second one
+     * @param expected Learned time-to-ready of the wait key, or null if nothing was learned yet
+     * @return An eighth of the learned time, within the configured bounds; wait.poll.initialMillis if unknown
+     */
+    static long firstPollMillis(Double expected) {
+        return expected == null ? INITIAL_POLL_MILLIS : withinBounds(expected / 8);
+    }
+
+    /**
+     * Gets the longest interval between checks
+     * @param expected Learned time-to-ready of the wait key, or null if nothing was learned yet
+     * @return A quarter of the learned time, within the configured bounds; wait.poll.maxMillis if unknown
+     */
+    static long maxPollMillis(Double expected) {
+        return expected == null ? MAX_POLL_MILLIS : withinBounds(expected / 4);
+    }
+
+    private static long withinBounds(double millis) {
+        return Math.max(INITIAL_POLL_MILLIS, Math.min((long) millis, MAX_POLL_MILLIS));
+    }
+
+    /**
+     * Gets the learned time-to-ready of a wait key
+     * @param key Wait key
+     * @return Exponentially weighted average in milliseconds, or null if nothing was learned yet
+     */
+    public static Double expectedReadyMillis(String key) {
+        return expectedReadyMillis.get(key);
+    }
+
+    /**
+     * Logs how many waits ran, how many needed polling and the slowest learned wait keys
+     */
+    public static void logStats() {
+        if (waits.sum() == 0) {
+            return;
+        }
+        logger.info("Waits: {} total, {} ready on the first check, {} polled checks, {} timeouts",
+                waits.sum(), readyOnFirstCheck.sum(), polledChecks.sum(), timeouts.sum());
+        String slowest = expectedReadyMillis.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(5)
+                .map(entry -> String.format("%s ~%.0f ms", entry.getKey(), entry.getValue()))
+                .collect(Collectors.joining(", "));
+        logger.info("Slowest learned waits: {}", slowest);
+    }
+
+    private static void learn(String key, long millis) {
+        expectedReadyMillis.merge(key, (double) millis,
+                (expected, sample) -> expected + LEARNING_RATE * (sample - expected));
+    }
+}
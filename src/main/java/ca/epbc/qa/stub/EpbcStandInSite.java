@@ -0,0 +1,137 @@
+package ca.epbc.qa.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Embedded stand-in for the EPBC site: the backend endpoints of {@link EpbcStubServer} plus home, sign-in,
+ * search results and My List pages whose DOM matches what the page objects expect. Every response is
+ * delayed by a fixed latency plus random jitter so framework overhead can be measured without staging noise.
+ */
+public class EpbcStandInSite extends EpbcStubServer {
+    private static final Logger logger = LoggerFactory.getLogger(EpbcStandInSite.class);
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final int pageSize;
+
+    /**
+     * Creates a stand-in site that renders every search result at once
+     * @param programCount Number of programs in the catalogue
+     * @param latencyMillis Fixed delay added to every response
+     * @param jitterMillis Upper bound of the random delay added on top of the latency
+     */
+    public EpbcStandInSite(int programCount, long latencyMillis, long jitterMillis) {
+        this(programCount, latencyMillis, jitterMillis, 0);
+    }
+
+    /**
+     * Creates a stand-in site
+     * @param programCount Number of programs in the catalogue
+     * @param latencyMillis Fixed delay added to every response
+     * @param jitterMillis Upper bound of the random delay added on top of the latency
+     * @param pageSize Search results rendered per page behind a "Load more" button; 0 renders them all
+     */
+    public EpbcStandInSite(int programCount, long latencyMillis, long jitterMillis, int pageSize) {
+        super(programCount);
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.pageSize = Math.max(0, pageSize);
+    }
+
+    /**
+     * Creates a stand-in site configured by the standin.programs (default 200), standin.latencyMillis
+     * (default 0), standin.jitterMillis (default 0) and standin.pageSize (default 0) system properties
+     * @return Unstarted EpbcStandInSite
+     */
+    public static EpbcStandInSite fromSystemProperties() {
+        return new EpbcStandInSite(Integer.getInteger("standin.programs", 200),
+                Long.getLong("standin.latencyMillis", 0L),
+                Long.getLong("standin.jitterMillis", 0L),
+                Integer.getInteger("standin.pageSize", 0));
+    }
+
+    @Override
+    public synchronized String start() {
+        String baseUrl = super.start();
+        logger.info("EPBC stand-in site serving pages with latency {} ms + jitter up to {} ms", latencyMillis, jitterMillis);
+        return baseUrl;
+    }
+
+    @Override
+    protected void registerContexts(HttpServer server) {
+        super.registerContexts(server);
+        server.createContext("/", exchange -> handle(exchange, this::page));
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, Handler handler) throws IOException {
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.handle(exchange, handler);
+    }
+
+    private Response page(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        Account account = currentAccount(exchange);
+
+        switch (path) {
+            case "/":
+                return Response.html(200, StandInPages.home(account != null));
+            case "/sign-in":
+                if ("POST".equals(method)) {
+                    Map<String, String> form = formParameters(exchange);
+                    return authenticate(exchange, form.get("email"), form.get("password")) != null
+                            ? Response.redirect("/")
+                            : Response.html(401, StandInPages.signIn("Incorrect email or password"));
+                }
+                return Response.html(200, StandInPages.signIn(null));
+            case "/register":
+                if ("POST".equals(method)) {
+                    Map<String, String> form = formParameters(exchange);
+                    String email = form.getOrDefault("email", "");
+                    String password = form.getOrDefault("password", "");
+                    if (email.isEmpty() || password.isEmpty() || !password.equals(form.get("confirmPassword"))) {
+                        return Response.html(400, StandInPages.register("Please complete every field"));
+                    }
+                    return createAccount(exchange, form.get("firstName"), form.get("lastName"), email, password) != null
+                            ? Response.redirect("/")
+                            : Response.html(409, StandInPages.register("An account with this email already exists"));
+                }
+                return Response.html(200, StandInPages.register(null));
+            case "/sign-out":
+                endSession(exchange);
+                return Response.redirect("/");
+            case "/search":
+                Map<String, String> parameters = queryParameters(exchange);
+                String query = parameters.getOrDefault("q", "");
+                List<StubProgram> results = search(query, parameters.get("area"));
+                return Response.html(200, StandInPages.searchResults(account != null, query, results, pageSize));
+            case "/my-list":
+                if (account == null) {
+                    return Response.redirect("/sign-in?returnUrl=" + URLEncoder.encode("/my-list", StandardCharsets.UTF_8));
+                }
+                return Response.html(200, StandInPages.myList(account.savedPrograms()));
+            case "/favicon.ico":
+                return Response.status(204);
+            default:
+                return Response.html(404, StandInPages.notFound());
+        }
+    }
+}
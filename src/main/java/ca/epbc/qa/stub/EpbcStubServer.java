@@ -0,0 +1,484 @@
+package ca.epbc.qa.stub;
+
+import ca.epbc.qa.api.ProgramSummary;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory stand-in for the EPBC backend endpoints used by {@link ca.epbc.qa.api.EpbcApiClient},
+ * for offline fixture runs. Binds to a free port on the loopback interface.
+ */
+public class EpbcStubServer {
+    private static final Logger logger = LoggerFactory.getLogger(EpbcStubServer.class);
+    private static final Json JSON = new Json();
+    static final String SESSION_COOKIE = "epbc_session";
+    
+    private static final String[] INSTITUTIONS = {
+            "University of British Columbia (UBC)", "UBC Okanagan", "Simon Fraser University",
+            "British Columbia Institute of Technology", "University of Victoria"};
+    private static final String[] CREDENTIALS = {"Bachelor of", "Diploma in", "Certificate in", "Master of"};
+    private static final String[] SUBJECTS = {
+            "Computer Science", "Information Technology", "Data Science", "Commerce", "Nursing",
+            "Fine Arts", "Biology", "Software Engineering", "Kinesiology", "Economics"};
+    // Area of study of each subject above
+    private static final String[] AREAS = {
+            "Technology (IT)", "Technology (IT)", "Technology (IT)", "Business", "Health",
+            "Arts", "Sciences", "Technology (IT)", "Health", "Business"};
+    
+    private final List<StubProgram> catalog;
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    /**
+     * Creates a stub with a generated catalogue
+     * @param programCount Number of programs in the catalogue
+     */
+    public EpbcStubServer(int programCount) {
+        this.catalog = generateCatalog(programCount);
+    }
+    
+    /**
+     * Starts the server on a free loopback port
+     * @return Base URL of the running server
+     */
+    public synchronized String start() {
+        if (server != null) {
+            return getBaseUrl();
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start EPBC stub server", e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "epbc-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        registerContexts(server);
+        server.start();
+        logger.info("EPBC stub server listening on {} with {} programs", getBaseUrl(), catalog.size());
+        return getBaseUrl();
+    }
+    
+    /**
+     * Stops the server
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("EPBC stub server stopped");
+        }
+    }
+    
+    /**
+     * Gets the base URL of the running server
+     * @return Base URL without a trailing slash
+     */
+    public String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("EPBC stub server is not running");
+        }
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+    
+    /**
+     * Gets the generated catalogue
+     * @return Programs in catalogue order
+     */
+    public List<StubProgram> getCatalog() {
+        return catalog;
+    }
+    
+    /**
+     * Hook for subclasses to add more handlers
+     * @param server Server being started
+     */
+    protected void registerContexts(HttpServer server) {
+        server.createContext("/api/account/register", exchange -> handle(exchange, this::register));
+        server.createContext("/api/account/sign-in", exchange -> handle(exchange, this::signIn));
+        server.createContext("/api/programs", exchange -> handle(exchange, this::searchPrograms));
+        server.createContext("/api/my-list", exchange -> handle(exchange, this::myList));
+    }
+    
+    /**
+     * Searches the catalogue by name or institution, case-insensitively
+     * @param query Search term; blank matches everything
+     * @param area Area of study filter, matched case-insensitively; blank matches every area
+     * @return Matching programs
+     */
+    protected List<StubProgram> search(String query, String area) {
+        String needle = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        String areaNeedle = area == null ? "" : area.trim().toLowerCase(Locale.ROOT);
+        return catalog.stream()
+                .filter(program -> needle.isEmpty() || program.searchText.contains(needle))
+                .filter(program -> areaNeedle.isEmpty() || program.areaOfStudy.toLowerCase(Locale.ROOT).contains(areaNeedle))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Finds the account signed in with the request's session cookie
+     * @param exchange HTTP exchange
+     * @return Account, or null if the request is anonymous
+     */
+    protected Account currentAccount(HttpExchange exchange) {
+        String token = cookieValue(exchange, SESSION_COOKIE);
+        String email = token == null ? null : sessions.get(token);
+        return email == null ? null : accounts.get(email);
+    }
+    
+    /**
+     * Creates an account and signs the exchange in as it
+     * @return Created account, or null if the email is taken
+     */
+    protected Account createAccount(HttpExchange exchange, String firstName, String lastName, String email, String password) {
+        Account account = new Account(firstName, lastName, email, password);
+        if (accounts.putIfAbsent(email.toLowerCase(Locale.ROOT), account) != null) {
+            return null;
+        }
+        startSession(exchange, account);
+        return account;
+    }
+    
+    /**
+     * Signs the exchange in if the credentials match
+     * @return Account, or null if the credentials are wrong
+     */
+    protected Account authenticate(HttpExchange exchange, String email, String password) {
+        Account account = email == null ? null : accounts.get(email.toLowerCase(Locale.ROOT));
+        if (account == null || !account.password.equals(password)) {
+            return null;
+        }
+        startSession(exchange, account);
+        return account;
+    }
+    
+    /**
+     * Finds a program by id
+     * @param programId Program identifier
+     * @return Program, or null if unknown
+     */
+    protected StubProgram program(String programId) {
+        return catalog.stream().filter(program -> program.summary.getProgramId().equals(programId)).findFirst().orElse(null);
+    }
+    
+    private Response register(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            return Response.status(405);
+        }
+        Map<String, Object> body = readJson(exchange);
+        String email = string(body, "email");
+        String password = string(body, "password");
+        if (email.isEmpty() || password.isEmpty()) {
+            return Response.json(400, Map.of("error", "email and password are required"));
+        }
+        if (createAccount(exchange, string(body, "firstName"), string(body, "lastName"), email, password) == null) {
+            return Response.json(409, Map.of("error", "account already exists"));
+        }
+        return Response.json(201, Map.of("email", email));
+    }
+    
+    private Response signIn(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            return Response.status(405);
+        }
+        Map<String, Object> body = readJson(exchange);
+        Account account = authenticate(exchange, string(body, "email"), string(body, "password"));
+        return account == null
+                ? Response.json(401, Map.of("error", "invalid credentials"))
+                : Response.json(200, Map.of("email", account.email));
+    }
+    
+    private Response searchPrograms(HttpExchange exchange) {
+        Map<String, String> parameters = queryParameters(exchange);
+        List<StubProgram> matches = search(parameters.get("q"), parameters.get("area"));
+        // Optional offset/limit paging; X-Total-Count always carries the full match count
+        int offset = Math.min(matches.size(), Math.max(0, intParameter(parameters, "offset", 0)));
+        int limit = Math.max(0, intParameter(parameters, "limit", matches.size()));
+        List<StubProgram> page = matches.subList(offset, (int) Math.min(matches.size(), (long) offset + limit));
+        return Response.json(200, page.stream().map(program -> program.summary.toJson()).collect(Collectors.toList()))
+                .header("X-Total-Count", String.valueOf(matches.size()));
+    }
+    
+    private static int intParameter(Map<String, String> parameters, String name, int defaultValue) {
+        try {
+            String value = parameters.get(name);
+            return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    
+    private Response myList(HttpExchange exchange) throws IOException {
+        Account account = currentAccount(exchange);
+        if (account == null) {
+            return Response.json(401, Map.of("error", "sign in required"));
+        }
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        
+        if ("GET".equals(method)) {
+            return Response.json(200, account.myListAsJson());
+        }
+        if ("POST".equals(method)) {
+            StubProgram program = program(string(readJson(exchange), "programId"));
+            if (program == null) {
+                return Response.json(404, Map.of("error", "unknown program"));
+            }
+            account.myList.put(program.summary.getProgramId(), program);
+            return Response.json(201, program.summary.toJson());
+        }
+        if ("DELETE".equals(method) && path.startsWith("/api/my-list/")) {
+            String programId = URLDecoder.decode(path.substring("/api/my-list/".length()), StandardCharsets.UTF_8);
+            return account.myList.remove(programId) == null ? Response.status(404) : Response.status(204);
+        }
+        return Response.status(405);
+    }
+    
+    /**
+     * Ends the exchange's session, if any
+     * @param exchange HTTP exchange
+     */
+    protected void endSession(HttpExchange exchange) {
+        String token = cookieValue(exchange, SESSION_COOKIE);
+        if (token != null) {
+            sessions.remove(token);
+        }
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=; Path=/; Max-Age=0");
+    }
+    
+    private void startSession(HttpExchange exchange, Account account) {
+        String token = UUID.randomUUID().toString();
+        sessions.put(token, account.email.toLowerCase(Locale.ROOT));
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + token + "; Path=/; HttpOnly");
+    }
+    
+    /**
+     * Runs a handler and writes its response, turning failures into a 500
+     */
+    protected void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try {
+            Response response;
+            try {
+                response = handler.handle(exchange);
+            } catch (RuntimeException e) {
+                logger.warn("Stub handler for {} failed: {}", exchange.getRequestURI(), e.getMessage());
+                response = Response.json(500, Map.of("error", String.valueOf(e.getMessage())));
+            }
+            response.headers.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+            byte[] bytes = response.body == null ? new byte[0] : response.body;
+            exchange.sendResponseHeaders(response.status, bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readJson(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return text.isBlank() ? Map.of() : JSON.toType(text, Map.class);
+        }
+    }
+    
+    /**
+     * Parses the query string of a request
+     * @param exchange HTTP exchange
+     * @return Decoded parameters; repeated names keep the last value
+     */
+    protected static Map<String, String> queryParameters(HttpExchange exchange) {
+        return decodeParameters(exchange.getRequestURI().getRawQuery());
+    }
+    
+    /**
+     * Parses an application/x-www-form-urlencoded request body
+     * @param exchange HTTP exchange
+     * @return Decoded parameters; repeated names keep the last value
+     */
+    protected static Map<String, String> formParameters(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return decodeParameters(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+    
+    private static Map<String, String> decodeParameters(String query) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int split = pair.indexOf('=');
+            String name = split < 0 ? pair : pair.substring(0, split);
+            String value = split < 0 ? "" : pair.substring(split + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+    
+    private static String cookieValue(HttpExchange exchange, String name) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String cookie : header.split(";")) {
+                String[] parts = cookie.trim().split("=", 2);
+                if (parts.length == 2 && parts[0].equals(name)) {
+                    return parts[1];
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static String string(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        return value == null ? "" : String.valueOf(value);
+    }
+    
+    private static List<StubProgram> generateCatalog(int programCount) {
+        List<StubProgram> programs = new ArrayList<>(programCount);
+        for (int i = 0; i < programCount; i++) {
+            String name = CREDENTIALS[i % CREDENTIALS.length] + " " + SUBJECTS[i % SUBJECTS.length];
+            if (i >= CREDENTIALS.length * SUBJECTS.length) {
+                name += " " + (i / (CREDENTIALS.length * SUBJECTS.length) + 1);
+            }
+            programs.add(new StubProgram(
+                    new ProgramSummary("P" + (1000 + i), name, INSTITUTIONS[i % INSTITUTIONS.length]),
+                    AREAS[i % SUBJECTS.length]));
+        }
+        return programs;
+    }
+    
+    /**
+     * Program in the stub catalogue
+     */
+    public static class StubProgram {
+        private final ProgramSummary summary;
+        private final String areaOfStudy;
+        private final String searchText;
+        
+        StubProgram(ProgramSummary summary, String areaOfStudy) {
+            this.summary = summary;
+            this.areaOfStudy = areaOfStudy;
+            this.searchText = (summary.getName() + " " + summary.getInstitution()).toLowerCase(Locale.ROOT);
+        }
+        
+        public ProgramSummary getSummary() {
+            return summary;
+        }
+        
+        public String getAreaOfStudy() {
+            return areaOfStudy;
+        }
+    }
+    
+    /**
+     * Registered stub account
+     */
+    protected static class Account {
+        final String firstName;
+        final String lastName;
+        final String email;
+        final String password;
+        final Map<String, StubProgram> myList = Collections.synchronizedMap(new LinkedHashMap<>());
+        
+        Account(String firstName, String lastName, String email, String password) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.password = password;
+        }
+        
+        /**
+         * Copies the saved programs in the order they were added
+         * @return Saved programs
+         */
+        List<StubProgram> savedPrograms() {
+            synchronized (myList) {
+                return new ArrayList<>(myList.values());
+            }
+        }
+        
+        List<Map<String, Object>> myListAsJson() {
+            return savedPrograms().stream().map(program -> program.summary.toJson()).collect(Collectors.toList());
+        }
+    }
+    
+    /**
+     * Request handler returning a response to write
+     */
+    @FunctionalInterface
+    protected interface Handler {
+        Response handle(HttpExchange exchange) throws IOException;
+    }
+    
+    /**
+     * Response written by {@link #handle}
+     */
+    protected static class Response {
+        final int status;
+        final byte[] body;
+        final Map<String, String> headers = new LinkedHashMap<>();
+        
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+        
+        static Response status(int status) {
+            return new Response(status, null);
+        }
+        
+        static Response json(int status, Object body) {
+            Response response = new Response(status, JSON.toJson(body).getBytes(StandardCharsets.UTF_8));
+            response.headers.put("Content-Type", "application/json; charset=utf-8");
+            return response;
+        }
+        
+        static Response html(int status, String body) {
+            Response response = new Response(status, body.getBytes(StandardCharsets.UTF_8));
+            response.headers.put("Content-Type", "text/html; charset=utf-8");
+            return response;
+        }
+        
+        static Response redirect(String location) {
+            Response response = new Response(303, null);
+            response.headers.put("Location", location);
+            return response;
+        }
+        
+        Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package ca.epbc.qa.stub;
+
+import ca.epbc.qa.api.ProgramSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * HTML templates of the stand-in site. Markup mirrors the structures the page object locators target:
+ * sign-in links, search form, filter panel, program cards with add-to-list buttons and My List items.
+ */
+final class StandInPages {
+
+    private static final String STYLE =
+            "<style>" +
+            "body{font-family:sans-serif;margin:0}" +
+            "header{display:flex;gap:16px;padding:12px;background:#003366}" +
+            "header a{color:#fff}" +
+            "main{padding:16px}" +
+            ".program-card,.list-item{border:1px solid #ccc;margin:8px 0;padding:8px}" +
+            "[hidden]{display:none !important}" +
+            "</style>";
+
+    private StandInPages() {
+    }
+
+    static String home(boolean signedIn) {
+        return page("EducationPlannerBC", signedIn,
+                "<h1>Find your program</h1>" +
+                searchForm(""));
+    }
+
+    static String signIn(String error) {
+        return page("Sign In", false,
+                "<h1>Sign In</h1>" +
+                alert(error) +
+                "<a href=\"/register\">Create Account</a>" +
+                "<form method=\"post\" action=\"/sign-in\">" +
+                "<input type=\"email\" id=\"email\" name=\"email\" placeholder=\"Email\">" +
+                "<input type=\"password\" id=\"password\" name=\"password\" placeholder=\"Password\">" +
+                "<button type=\"submit\">Sign In</button>" +
+                "</form>");
+    }
+
+    static String register(String error) {
+        return page("Create Account", false,
+                "<h1>Create Account</h1>" +
+                alert(error) +
+                "<form method=\"post\" action=\"/register\">" +
+                "<input type=\"text\" id=\"firstName\" name=\"firstName\" placeholder=\"First name\">" +
+                "<input type=\"text\" id=\"lastName\" name=\"lastName\" placeholder=\"Last name\">" +
+                "<input type=\"email\" id=\"email\" name=\"email\" placeholder=\"Email\">" +
+                "<input type=\"password\" id=\"password\" name=\"password\" placeholder=\"Password\">" +
+                "<input type=\"password\" id=\"confirmPassword\" name=\"confirmPassword\" placeholder=\"Confirm password\">" +
+                "<label><input type=\"checkbox\" name=\"terms\" value=\"accepted\"> I accept the terms of use</label>" +
+                "<button type=\"submit\">Create Account</button>" +
+                "</form>");
+    }
+
+    static String searchResults(boolean signedIn, String query, List<EpbcStubServer.StubProgram> results, int pageSize) {
+        int shown = pageSize > 0 ? Math.min(pageSize, results.size()) : results.size();
+        StringBuilder cards = new StringBuilder();
+        for (EpbcStubServer.StubProgram program : results.subList(0, shown)) {
+            cards.append(programCard(program.getSummary()));
+        }
+        return page("Search results", signedIn,
+                searchForm(query) +
+                "<div class=\"search-results\" data-query=\"" + escape(query) + "\">" +
+                "<button type=\"button\" id=\"filter-toggle\">Filters</button>" +
+                "<div id=\"filter-panel\" hidden>" +
+                "<div class=\"filter-heading\" id=\"areas-heading\">Areas of Study</div>" +
+                "<div id=\"area-options\" hidden>" +
+                "<input type=\"checkbox\" id=\"area-technology\" name=\"area\" value=\"technology\">" +
+                "<label for=\"area-technology\">Technology (IT)</label>" +
+                "</div>" +
+                "<button type=\"button\" id=\"apply-filters\">Apply</button>" +
+                "</div>" +
+                "<p id=\"result-count\">" + results.size() + " programs</p>" +
+                "<div id=\"cards\">" + cards + "</div>" +
+                "<button type=\"button\" id=\"load-more\" class=\"load-more\" data-offset=\"" + shown + "\"" +
+                (shown < results.size() ? "" : " hidden") + ">Load more programs</button>" +
+                "</div>" +
+                "<script>" +
+                "var pageSize = " + pageSize + ", area = '';" +
+                "function card(p) {" +
+                "  var div = document.createElement('div');" +
+                "  div.className = 'program-card'; div.setAttribute('data-program-id', p.programId);" +
+                "  div.setAttribute('data-institution', p.institution);" +
+                "  div.innerHTML = '<h3></h3><p></p><button type=\"button\" class=\"add-to-list\">Add to My List</button>';" +
+                "  div.querySelector('h3').textContent = p.name; div.querySelector('p').textContent = p.institution;" +
+                "  return div;" +
+                "}" +
+                "function loadPrograms(offset) {" +
+                "  var q = document.querySelector('.search-results').getAttribute('data-query');" +
+                "  var url = '/api/programs?q=' + encodeURIComponent(q) + '&area=' + area;" +
+                "  if (pageSize > 0) { url += '&offset=' + offset + '&limit=' + pageSize; }" +
+                "  fetch(url).then(function (r) {" +
+                "    var total = parseInt(r.headers.get('X-Total-Count'), 10);" +
+                "    return r.json().then(function (programs) {" +
+                "      var cards = document.getElementById('cards'), more = document.getElementById('load-more');" +
+                "      if (offset === 0) { cards.innerHTML = ''; }" +
+                "      programs.forEach(function (p) { cards.appendChild(card(p)); });" +
+                "      if (isNaN(total)) { total = offset + programs.length; }" +
+                "      document.getElementById('result-count').textContent = total + ' programs';" +
+                "      more.setAttribute('data-offset', offset + programs.length);" +
+                "      more.hidden = offset + programs.length >= total;" +
+                "    });" +
+                "  });" +
+                "}" +
+                "document.getElementById('filter-toggle').onclick = function () {" +
+                "  document.getElementById('filter-panel').hidden = false; };" +
+                "document.getElementById('areas-heading').onclick = function () {" +
+                "  document.getElementById('area-options').hidden = false; };" +
+                "document.getElementById('apply-filters').onclick = function () {" +
+                "  area = document.getElementById('area-technology').checked ? 'technology' : '';" +
+                "  loadPrograms(0);" +
+                "};" +
+                "document.getElementById('load-more').onclick = function () {" +
+                "  loadPrograms(parseInt(this.getAttribute('data-offset'), 10));" +
+                "};" +
+                "document.getElementById('cards').addEventListener('click', function (event) {" +
+                "  var button = event.target.closest('.add-to-list'); if (!button) { return; }" +
+                "  var id = button.closest('.program-card').getAttribute('data-program-id');" +
+                "  fetch('/api/my-list', { method: 'POST', headers: { 'Content-Type': 'application/json' }," +
+                "      body: JSON.stringify({ programId: id }) })" +
+                "    .then(function (r) { button.textContent = r.ok ? 'Added to My List' : 'Sign in to save'; });" +
+                "});" +
+                "</script>");
+    }
+
+    static String myList(Collection<EpbcStubServer.StubProgram> programs) {
+        StringBuilder items = new StringBuilder();
+        for (EpbcStubServer.StubProgram program : programs) {
+            ProgramSummary summary = program.getSummary();
+            items.append("<div class=\"list-item\" data-program-id=\"").append(escape(summary.getProgramId()))
+                    .append("\" data-institution=\"").append(escape(summary.getInstitution())).append("\">")
+                    .append("<h3>").append(escape(summary.getName())).append("</h3>")
+                    .append("<p>").append(escape(summary.getInstitution())).append("</p>")
+                    .append("<button type=\"button\" class=\"remove\">Remove</button>")
+                    .append("</div>");
+        }
+        String empty = programs.isEmpty() ? "<div class=\"empty-state\">Your list is empty</div>" : "";
+        return page("My List", true,
+                "<div class=\"my-list\">" +
+                "<h1>My List</h1>" +
+                empty +
+                items +
+                "</div>" +
+                "<script>" +
+                "document.querySelector('.my-list').addEventListener('click', function (event) {" +
+                "  var button = event.target.closest('.remove'); if (!button) { return; }" +
+                "  var item = button.closest('.list-item');" +
+                "  fetch('/api/my-list/' + encodeURIComponent(item.getAttribute('data-program-id')), { method: 'DELETE' })" +
+                "    .then(function () { item.remove(); });" +
+                "});" +
+                "</script>");
+    }
+
+    static String notFound() {
+        return page("Not found", false, "<h1>Page not found</h1>");
+    }
+
+    private static String page(String title, boolean signedIn, String content) {
+        String account = signedIn
+                ? "<a href=\"/my-list\">My List</a><a href=\"/sign-out\">Sign Out</a>"
+                : "<a href=\"/sign-in\">Sign In</a><a href=\"/register\">Create Account</a>";
+        return "<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"utf-8\">" +
+                "<title>" + escape(title) + "</title>" + STYLE + "</head><body>" +
+                "<header><a href=\"/\">Home</a>" + account + "</header>" +
+                "<main>" + content + "</main>" +
+                "</body></html>";
+    }
+
+    private static String searchForm(String query) {
+        return "<form method=\"get\" action=\"/search\" role=\"search\">" +
+                "<input type=\"search\" name=\"q\" placeholder=\"Search programs\" value=\"" + escape(query) + "\">" +
+                "<button type=\"submit\">Search</button>" +
+                "</form>";
+    }
+
+    private static String programCard(ProgramSummary program) {
+        return "<div class=\"program-card\" data-program-id=\"" + escape(program.getProgramId()) +
+                "\" data-institution=\"" + escape(program.getInstitution()) + "\">" +
+                "<h3>" + escape(program.getName()) + "</h3>" +
+                "<p>" + escape(program.getInstitution()) + "</p>" +
+                "<button type=\"button\" class=\"add-to-list\">Add to My List</button>" +
+                "</div>";
+    }
+
+    private static String alert(String error) {
+        return error == null ? "" : "<div class=\"alert-error\">" + escape(error) + "</div>";
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&#39;");
+    }
+}
@@ -0,0 +1,257 @@
+package ca.epbc.qa.utils;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pre-warmed Chrome profiles (browser.profile=warm). A template profile is primed once by loading the site
+ * under test, so its HTTP cache and service workers hold the site's scripts, styles and fonts. Each browser
+ * then gets its own worker copy of the template as user-data-dir. Worker profiles are reused by later
+ * browsers after the previous one quits, and cookies, storage and saved sessions are scrubbed from them before
+ * every launch while the cache is kept. The template is rebuilt when it is older than
+ * browser.profile.ttlMinutes (default 720) or was primed for another site. Profiles live under
+ * browser.profile.dir (default .epbc-cache/profiles); worker copies are deleted when the JVM exits.
+ */
+public final class BrowserProfiles {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProfiles.class);
+    private static final String MARKER = ".epbc-template";
+    /** Auth and user state kept by Chrome in a profile; everything else (HTTP cache, code cache, service workers) stays */
+    private static final List<String> USER_STATE = List.of(
+            "Default/Cookies", "Default/Cookies-journal", "Default/Network/Cookies", "Default/Network/Cookies-journal",
+            "Default/Local Storage", "Default/Session Storage", "Default/IndexedDB", "Default/Sessions",
+            "Default/Login Data", "Default/Login Data-journal", "Default/Web Data", "Default/Web Data-journal",
+            "Default/Current Session", "Default/Current Tabs", "Default/Last Session", "Default/Last Tabs");
+    private static final ConcurrentLinkedQueue<Path> idleWorkers = new ConcurrentLinkedQueue<>();
+    private static final Set<Path> checkedOut = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger workerCount = new AtomicInteger();
+    private static volatile String warmUpUrl;
+    private static volatile boolean templateReady;
+    private static volatile Path workersRoot;
+    
+    private BrowserProfiles() {
+    }
+    
+    /**
+     * Whether browsers should start from a pre-warmed profile
+     * @return true when browser.profile=warm
+     */
+    public static boolean isEnabled() {
+        return "warm".equalsIgnoreCase(System.getProperty("browser.profile", "fresh"));
+    }
+    
+    /**
+     * Sets the page loaded to prime the template, normally the resolved base URL of the run
+     * @param url Absolute URL of the site under test
+     */
+    public static void setWarmUpUrl(String url) {
+        warmUpUrl = url;
+    }
+    
+    /**
+     * Gets a worker profile for a new local Chrome session: an idle one from an earlier session of this run,
+     * or a fresh copy of the template. Cookies and storage are removed before it is returned.
+     * @return user-data-dir to pass to Chrome
+     */
+    static Path checkout() {
+        ensureTemplate();
+        Path worker = idleWorkers.poll();
+        if (worker == null) {
+            worker = workersRoot().resolve("worker-" + workerCount.incrementAndGet());
+            copyTree(template(), worker);
+            logger.info("Cloned warm browser profile into {}", worker);
+        }
+        scrubUserState(worker);
+        checkedOut.add(worker);
+        return worker;
+    }
+    
+    /**
+     * Returns the worker profile of a session that has quit so the next browser can reuse its cache.
+     * Sessions that were not started from a worker profile are ignored.
+     * @param userDataDir Profile returned by {@link #checkout()}, or null
+     */
+    static void release(Path userDataDir) {
+        if (userDataDir != null && checkedOut.remove(userDataDir)) {
+            idleWorkers.add(userDataDir);
+        }
+    }
+    
+    /**
+     * Finds the profile directory a running Chrome session was started with
+     * @param driver Raw or decorated driver
+     * @return user-data-dir reported by chromedriver, or null for other browsers
+     */
+    static Path userDataDir(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return null;
+        }
+        try {
+            Object chrome = ((HasCapabilities) driver).getCapabilities().getCapability("chrome");
+            Object dir = chrome instanceof Map ? ((Map<?, ?>) chrome).get("userDataDir") : null;
+            return dir == null ? null : Paths.get(dir.toString()).toAbsolutePath().normalize();
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+    
+    private static synchronized void ensureTemplate() {
+        if (templateReady) {
+            return;
+        }
+        Path template = template();
+        String url = warmUpUrl != null ? warmUpUrl : System.getProperty("baseUrl", "");
+        if (!url.startsWith("http")) {
+            throw new IllegalStateException("browser.profile=warm needs the site URL to prime the profile; "
+                    + "call BrowserProfiles.setWarmUpUrl or set -DbaseUrl");
+        }
+        if (isCurrent(template, url)) {
+            logger.info("Reusing warm browser profile template {} primed for {}", template, url);
+        } else {
+            buildTemplate(template, url);
+        }
+        templateReady = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteTree(workersRoot()), "browser-profile-cleanup"));
+    }
+    
+    private static boolean isCurrent(Path template, String url) {
+        Path marker = template.resolve(MARKER);
+        try {
+            if (!Files.isRegularFile(marker) || !url.equals(Files.readString(marker, StandardCharsets.UTF_8).trim())) {
+                return false;
+            }
+            Duration age = Duration.between(Files.getLastModifiedTime(marker).toInstant(), Instant.now());
+            return age.toMinutes() < Long.getLong("browser.profile.ttlMinutes", 720L);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    private static void buildTemplate(Path template, String url) {
+        long start = System.nanoTime();
+        deleteTree(template);
+        ChromeOptions options = DriverFactory.chromeOptions(true, PageLoadStrategy.NORMAL);
+        options.addArguments("--user-data-dir=" + template);
+        DriverBinaryResolver.resolve("chrome");
+        WebDriver driver = new ChromeDriver(options);
+        try {
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
+            driver.get(url);
+            // Give a registering service worker the chance to install and cache its assets
+            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(10));
+            ((JavascriptExecutor) driver).executeAsyncScript(
+                    "var done = arguments[arguments.length - 1];" +
+                    "if (!navigator.serviceWorker) { done(); return; }" +
+                    "setTimeout(done, 5000);" +
+                    "navigator.serviceWorker.getRegistration().then(function (registration) {" +
+                    "  if (registration) { navigator.serviceWorker.ready.then(function () { done(); }); } else { done(); }" +
+                    "}, function () { done(); });");
+        } finally {
+            // Quitting writes the cache index to disk
+            driver.quit();
+        }
+        scrubUserState(template);
+        try {
+            Files.writeString(template.resolve(MARKER), url, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Could not mark browser profile template {}: {}", template, e.getMessage());
+        }
+        logger.info("Primed browser profile template {} from {} in {} ms", template, url,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+    
+    private static void scrubUserState(Path profile) {
+        for (String entry : USER_STATE) {
+            deleteTree(profile.resolve(entry));
+        }
+    }
+    
+    private static Path template() {
+        return profileRoot().resolve("template-chrome");
+    }
+    
+    private static Path workersRoot() {
+        Path root = workersRoot;
+        if (root == null) {
+            root = profileRoot().resolve("workers").resolve(String.valueOf(ProcessHandle.current().pid()));
+            workersRoot = root;
+        }
+        return root;
+    }
+    
+    private static Path profileRoot() {
+        return Paths.get(System.getProperty("browser.profile.dir", ".epbc-cache/profiles")).toAbsolutePath().normalize();
+    }
+    
+    private static void copyTree(Path source, Path target) {
+        try {
+            Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                    return FileVisitResult.CONTINUE;
+                }
+                
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    // Singleton* are the running browser's lock symlinks
+                    if (attrs.isRegularFile() && !file.getFileName().toString().startsWith("Singleton")) {
+                        Files.copy(file, target.resolve(source.relativize(file).toString()),
+                                StandardCopyOption.REPLACE_EXISTING, LinkOption.NOFOLLOW_LINKS);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not copy browser profile " + source + " to " + target, e);
+        }
+    }
+    
+    private static void deleteTree(Path path) {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(path, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.deleteIfExists(file);
+                    return FileVisitResult.CONTINUE;
+                }
+                
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                    Files.deleteIfExists(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ca.epbc.qa.utils;
+
+import ca.epbc.qa.pages.BasePage;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Times every call made through a decorated driver, including calls on the elements, navigation,
+ * options and timeouts it hands out, and records them in {@link CommandLatencyStats} under the
+ * page object method that issued them
+ */
+public class CommandLatencyListener implements WebDriverListener {
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final String APPLICATION_PACKAGE = "ca.epbc.qa.";
+    private static final Set<String> HELPER_CLASSES = Set.of(
+            CommandLatencyListener.class.getName(),
+            BasePage.class.getName(),
+            "ca.epbc.qa.pages.SmartLocator",
+            "ca.epbc.qa.pages.WaitScheduler",
+            ScriptTransport.class.getName());
+    private static final ThreadLocal<String> attributedCaller = new ThreadLocal<>();
+    
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+    
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+    
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, false);
+    }
+    
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method, true);
+    }
+    
+    private void record(Method method, boolean failed) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        CommandLatencyStats.record(caller(), commandName(method), nanos, failed);
+    }
+    
+    private static String commandName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+    
+    /**
+     * Runs work on the current thread with every command it issues attributed to a given caller.
+     * Used where a page object hands work to another thread.
+     * @param caller Caller as returned by {@link #caller()}; null attributes by stack as usual
+     * @param work Work to run
+     * @return Result of the work
+     */
+    public static <T> T callingAs(String caller, Supplier<T> work) {
+        String previous = attributedCaller.get();
+        attributedCaller.set(caller);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                attributedCaller.remove();
+            } else {
+                attributedCaller.set(previous);
+            }
+        }
+    }
+    
+    /**
+     * Finds the page object method that issued the current command. Commands issued outside page objects
+     * (tests, fixtures) are attributed to the first application frame that is not a BasePage helper.
+     * @return Caller as SimpleClassName.method
+     */
+    public static String caller() {
+        String attributed = attributedCaller.get();
+        if (attributed != null) {
+            return attributed;
+        }
+        return WALKER.walk(frames -> {
+            String fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (type != BasePage.class && BasePage.class.isAssignableFrom(type)) {
+                    return describe(frame);
+                }
+                if (fallback == null && type.getName().startsWith(APPLICATION_PACKAGE)
+                        && !HELPER_CLASSES.contains(type.getName())) {
+                    fallback = describe(frame);
+                }
+            }
+            return fallback != null ? fallback : "unattributed";
+        });
+    }
+    
+    private static String describe(StackWalker.StackFrame frame) {
+        String method = frame.getMethodName();
+        if (method.startsWith("lambda$")) {
+            // lambda$applyAreasOfStudyFilter$0 belongs to applyAreasOfStudyFilter
+            int end = method.indexOf('$', 7);
+            method = end > 7 ? method.substring(7, end) : method;
+        }
+        return frame.getDeclaringClass().getSimpleName() + "." + method;
+    }
+}
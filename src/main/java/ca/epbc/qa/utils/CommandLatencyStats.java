@@ -0,0 +1,149 @@
+package ca.epbc.qa.utils;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-run latency histograms of WebDriver commands, keyed by calling page object method and command.
+ * Values are recorded in microseconds with three significant digits.
+ * The export file is set with the command.latency.file system property.
+ */
+public final class CommandLatencyStats {
+    private static final Logger logger = LoggerFactory.getLogger(CommandLatencyStats.class);
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    private CommandLatencyStats() {
+    }
+    
+    /**
+     * Records one command execution
+     * @param caller Page object method (or other caller) that issued the command
+     * @param command Command name, e.g. WebDriver.findElement
+     * @param nanos Elapsed time
+     * @param failed Whether the command threw
+     */
+    public static void record(String caller, String command, long nanos, boolean failed) {
+        Entry entry = entries.computeIfAbsent(caller + " " + command, key -> new Entry(caller, command));
+        entry.histogram.recordValue(Math.max(1, nanos / 1_000));
+        if (failed) {
+            entry.errors.increment();
+        }
+    }
+    
+    /**
+     * Gets the recorded rows, most total time first
+     * @return One row per caller and command with count, errors, total, mean, p50, p95, p99 and max (ms)
+     */
+    public static List<Map<String, Object>> rows() {
+        List<Map<String, Object>> rows = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            Histogram snapshot = entry.histogram.copy();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("caller", entry.caller);
+            row.put("command", entry.command);
+            row.put("count", snapshot.getTotalCount());
+            row.put("errors", entry.errors.sum());
+            row.put("totalMillis", round(snapshot.getMean() * snapshot.getTotalCount() / 1_000.0));
+            row.put("meanMillis", round(snapshot.getMean() / 1_000.0));
+            row.put("p50Millis", millis(snapshot, 50));
+            row.put("p95Millis", millis(snapshot, 95));
+            row.put("p99Millis", millis(snapshot, 99));
+            row.put("maxMillis", round(snapshot.getMaxValue() / 1_000.0));
+            row.put("histogram", encode(snapshot));
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> (Double) row.get("totalMillis")).reversed());
+        return rows;
+    }
+    
+    /**
+     * Writes the rows as JSON and logs a summary table of the slowest callers and commands.
+     * Does nothing if no command was recorded.
+     */
+    public static void export() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> rows = rows();
+        logSummary(rows, Integer.getInteger("command.latency.summaryRows", 25));
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("histogramEncoding", "HdrHistogram compressed, base64, microseconds");
+        report.put("commands", rows);
+        Path file = Paths.get(System.getProperty("command.latency.file", "target/command-latency.json"));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, new Json().toJson(report));
+            logger.info("Wrote latency histograms for {} caller/command pairs to {}", rows.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not write command latency report to {}: {}", file, e.getMessage());
+        }
+    }
+    
+    /**
+     * Discards everything recorded so far
+     */
+    public static void reset() {
+        entries.clear();
+    }
+    
+    private static void logSummary(List<Map<String, Object>> rows, int limit) {
+        String format = "%-55s %-30s %7s %6s %10s %9s %9s %9s %9s";
+        logger.info("WebDriver command latency (ms), {} of {} caller/command pairs by total time:",
+                Math.min(limit, rows.size()), rows.size());
+        logger.info(String.format(format, "Caller", "Command", "Count", "Errors", "Total", "p50", "p95", "p99", "Max"));
+        for (Map<String, Object> row : rows.subList(0, Math.min(limit, rows.size()))) {
+            logger.info(String.format(format, row.get("caller"), row.get("command"), row.get("count"), row.get("errors"),
+                    row.get("totalMillis"), row.get("p50Millis"), row.get("p95Millis"), row.get("p99Millis"),
+                    row.get("maxMillis")));
+        }
+    }
+    
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1_000.0);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+    
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+    
+    private static final class Entry {
+        private final String caller;
+        private final String command;
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        
+        private Entry(String caller, String command) {
+            this.caller = caller;
+            this.command = command;
+        }
+    }
+}
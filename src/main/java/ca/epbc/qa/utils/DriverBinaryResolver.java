@@ -0,0 +1,135 @@
+package ca.epbc.qa.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Resolves browser driver binaries once per JVM and memoizes the result.
+ * Binaries are cached under driver.cache.dir keyed by driver version. With driver.offline=true no network
+ * access is attempted: the pinned driver.binary.chrome / driver.binary.firefox path is used, or else the
+ * newest cached binary (matching browser.version if set).
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+    private static final Map<String, String> resolvedPaths = new ConcurrentHashMap<>();
+    
+    private DriverBinaryResolver() {
+    }
+    
+    /**
+     * Makes the driver binary for a browser available to Selenium, resolving it on the first call only
+     * @param browser Browser type (chrome, firefox)
+     * @return Path of the driver binary
+     */
+    public static String resolve(String browser) {
+        String key = "firefox".equalsIgnoreCase(browser) ? "firefox" : "chrome";
+        return resolvedPaths.computeIfAbsent(key, DriverBinaryResolver::resolveOnce);
+    }
+    
+    private static String resolveOnce(String browser) {
+        long start = System.nanoTime();
+        String driverName = "firefox".equals(browser) ? "geckodriver" : "chromedriver";
+        String systemProperty = "firefox".equals(browser) ? "webdriver.gecko.driver" : "webdriver.chrome.driver";
+        String pinned = System.getProperty("driver.binary." + browser);
+        boolean offline = Boolean.getBoolean("driver.offline");
+        
+        String path;
+        String source;
+        if (pinned != null && !pinned.isBlank()) {
+            path = requireExecutable(Paths.get(pinned), "Pinned " + driverName).toString();
+            source = "pinned";
+        } else if (offline) {
+            path = findCachedBinary(driverName)
+                    .orElseThrow(() -> new IllegalStateException("driver.offline is set but no " + driverName
+                            + " was found under " + cacheDir() + "; set driver.binary." + browser
+                            + " to a local binary or populate the cache on a connected machine"))
+                    .toString();
+            source = "offline cache";
+        } else {
+            WebDriverManager manager = "firefox".equals(browser)
+                    ? WebDriverManager.firefoxdriver()
+                    : WebDriverManager.chromedriver();
+            manager.cachePath(cacheDir().toString());
+            String browserVersion = System.getProperty("browser.version");
+            if (browserVersion != null && !browserVersion.isBlank()) {
+                manager.browserVersion(browserVersion);
+            }
+            manager.setup();
+            path = manager.getDownloadedDriverPath();
+            source = "WebDriverManager " + manager.getDownloadedDriverVersion();
+        }
+        
+        System.setProperty(systemProperty, path);
+        logger.info("Resolved {} from {} in {} ms: {}", driverName, source,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), path);
+        return path;
+    }
+    
+    private static Optional<Path> findCachedBinary(String driverName) {
+        Path cache = cacheDir();
+        if (!Files.isDirectory(cache)) {
+            return Optional.empty();
+        }
+        String versionPrefix = System.getProperty("browser.version", "");
+        try (Stream<Path> files = Files.walk(cache)) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.equals(driverName) || name.equals(driverName + ".exe");
+                    })
+                    .filter(Files::isExecutable)
+                    // WebDriverManager stores binaries as <cache>/<driver>/<os>/<version>/<binary>
+                    .filter(file -> versionPrefix.isEmpty()
+                            || file.getParent().getFileName().toString().startsWith(versionPrefix))
+                    .max(Comparator.comparing(file -> file.getParent().getFileName().toString(),
+                            DriverBinaryResolver::compareVersions));
+        } catch (IOException e) {
+            logger.warn("Could not scan driver cache {}: {}", cache, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    private static int compareVersions(String left, String right) {
+        String[] a = left.split("\\.");
+        String[] b = right.split("\\.");
+        for (int i = 0; i < Math.max(a.length, b.length); i++) {
+            int x = i < a.length ? parseOrZero(a[i]) : 0;
+            int y = i < b.length ? parseOrZero(b[i]) : 0;
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+        }
+        return 0;
+    }
+    
+    private static int parseOrZero(String part) {
+        try {
+            return Integer.parseInt(part);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    private static Path requireExecutable(Path path, String description) {
+        if (!Files.isExecutable(path)) {
+            throw new IllegalStateException(description + " is not an executable file: " + path);
+        }
+        return path.toAbsolutePath();
+    }
+    
+    private static Path cacheDir() {
+        return Paths.get(System.getProperty("driver.cache.dir", ".epbc-cache/drivers")).toAbsolutePath();
+    }
+}
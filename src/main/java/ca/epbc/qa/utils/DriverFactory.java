@@ -1,15 +1,23 @@
 package ca.epbc.qa.utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 /**
  * Factory class for creating and managing WebDriver instances
@@ -17,6 +25,11 @@ import java.time.Duration;
 public class DriverFactory {
     private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<DriverPool> borrowedFromThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> pooledDriverThreadLocal = new ThreadLocal<>();
+    private static final CommandLatencyListener latencyListener = new CommandLatencyListener();
+    private static volatile RemoteSessionFactory remoteSessionFactory;
+    private static final Map<String, DriverPool> pools = new ConcurrentHashMap<>();
     
     /**
      * Creates a WebDriver instance based on the specified browser
@@ -25,50 +38,190 @@ public class DriverFactory {
      * @return WebDriver instance
      */
     public static WebDriver createDriver(String browser, boolean headless) {
-        WebDriver driver;
+        WebDriver driver = instrument(launchDriver(browser, headless));
+        driverThreadLocal.set(driver);
+        logger.info("WebDriver created successfully: {}", browser);
+        return driver;
+    }
+    
+    /**
+     * Gets a WebDriver for the current test. When the driver.pool.size system property is
+     * greater than zero the driver is borrowed from a pre-launched pool, otherwise a new one is created.
+     * @param browser Browser type (chrome, firefox)
+     * @param headless Whether to run in headless mode
+     * @return WebDriver instance
+     */
+    public static WebDriver acquireDriver(String browser, boolean headless) {
+        int poolSize = Integer.getInteger("driver.pool.size", 0);
+        if (poolSize <= 0) {
+            return createDriver(browser, headless);
+        }
         
-        switch (browser.toLowerCase()) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                if (headless) {
-                    chromeOptions.addArguments("--headless");
-                }
-                chromeOptions.addArguments("--no-sandbox");
-                chromeOptions.addArguments("--disable-dev-shm-usage");
-                chromeOptions.addArguments("--disable-gpu");
-                chromeOptions.addArguments("--window-size=1920,1080");
-                driver = new ChromeDriver(chromeOptions);
-                break;
-                
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                if (headless) {
-                    firefoxOptions.addArguments("--headless");
-                }
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
-                
-            default:
-                logger.warn("Browser '{}' not supported. Defaulting to Chrome.", browser);
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions defaultOptions = new ChromeOptions();
-                if (headless) {
-                    defaultOptions.addArguments("--headless");
+        DriverPool pool = pools.computeIfAbsent(browser.toLowerCase() + (headless ? "-headless" : ""),
+                name -> new DriverPool(name, poolSize,
+                        Long.getLong("driver.pool.borrowTimeoutMillis", 120_000L),
+                        () -> launchDriver(browser, headless)));
+        WebDriver pooled = pool.borrow();
+        WebDriver driver = instrument(pooled);
+        driverThreadLocal.set(driver);
+        borrowedFromThreadLocal.set(pool);
+        pooledDriverThreadLocal.set(pooled);
+        return driver;
+    }
+    
+    /**
+     * Releases the current thread's WebDriver: pooled drivers are reset and returned, others are quit
+     */
+    public static void releaseDriver() {
+        DriverPool pool = borrowedFromThreadLocal.get();
+        if (pool == null) {
+            quitDriver();
+            return;
+        }
+        ScriptTransport.forget(driverThreadLocal.get(), pooledDriverThreadLocal.get());
+        pool.release(pooledDriverThreadLocal.get());
+        borrowedFromThreadLocal.remove();
+        pooledDriverThreadLocal.remove();
+        driverThreadLocal.remove();
+    }
+    
+    /**
+     * Closes all driver pools and logs their metrics
+     */
+    public static void shutdownPools() {
+        pools.values().forEach(DriverPool::close);
+        pools.clear();
+    }
+    
+    /**
+     * Wraps a driver so every command is timed by {@link CommandLatencyListener}, unless the
+     * driver.instrumentation system property is false. Pools keep the undecorated session.
+     * @param driver Undecorated driver
+     * @return Decorated driver, or the same driver when instrumentation is off
+     */
+    private static WebDriver instrument(WebDriver driver) {
+        if (!Boolean.parseBoolean(System.getProperty("driver.instrumentation", "true"))) {
+            return driver;
+        }
+        WebDriver decorated = new EventFiringDecorator<>(latencyListener).decorate(driver);
+        ScriptTransport.alias(decorated, driver);
+        return decorated;
+    }
+    
+    /**
+     * Gets the page-load strategy from the page.load.strategy system property (normal, eager or none).
+     * Pages wait for their own readiness contract after navigating, so eager is the default.
+     * @return PageLoadStrategy
+     */
+    static PageLoadStrategy pageLoadStrategy() {
+        String strategy = System.getProperty("page.load.strategy", "eager");
+        PageLoadStrategy loadStrategy = PageLoadStrategy.fromString(strategy.toLowerCase());
+        if (loadStrategy == null) {
+            logger.warn("Page load strategy '{}' not supported. Defaulting to eager.", strategy);
+            return PageLoadStrategy.EAGER;
+        }
+        return loadStrategy;
+    }
+    
+    /**
+     * Builds the Chrome options used for local and remote sessions
+     * @param headless Whether to run in headless mode
+     * @param loadStrategy Page-load strategy
+     * @return ChromeOptions
+     */
+    static ChromeOptions chromeOptions(boolean headless, PageLoadStrategy loadStrategy) {
+        ChromeOptions chromeOptions = new ChromeOptions();
+        chromeOptions.setPageLoadStrategy(loadStrategy);
+        if (headless) {
+            chromeOptions.addArguments("--headless");
+        }
+        chromeOptions.addArguments("--no-sandbox");
+        chromeOptions.addArguments("--disable-dev-shm-usage");
+        chromeOptions.addArguments("--disable-gpu");
+        chromeOptions.addArguments("--window-size=1920,1080");
+        // Keeps the console log retrievable so failure artifacts can include it
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        chromeOptions.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        return chromeOptions;
+    }
+    
+    /**
+     * Builds the Firefox options used for local and remote sessions
+     * @param headless Whether to run in headless mode
+     * @param loadStrategy Page-load strategy
+     * @return FirefoxOptions
+     */
+    static FirefoxOptions firefoxOptions(boolean headless, PageLoadStrategy loadStrategy) {
+        FirefoxOptions firefoxOptions = new FirefoxOptions();
+        firefoxOptions.setPageLoadStrategy(loadStrategy);
+        if (headless) {
+            firefoxOptions.addArguments("--headless");
+        }
+        return firefoxOptions;
+    }
+    
+    /**
+     * Whether sessions are created on a Selenium Grid (driver.mode=remote) rather than locally
+     * @return true in remote mode
+     */
+    static boolean isRemote() {
+        return "remote".equalsIgnoreCase(System.getProperty("driver.mode", "local"));
+    }
+    
+    private static RemoteSessionFactory remoteSessions() {
+        RemoteSessionFactory factory = remoteSessionFactory;
+        if (factory == null) {
+            synchronized (DriverFactory.class) {
+                factory = remoteSessionFactory;
+                if (factory == null) {
+                    factory = RemoteSessionFactory.fromSystemProperties();
+                    remoteSessionFactory = factory;
+                    logger.info("Remote mode: creating sessions on {} ({})", factory.getGridUrl(), factory.describeStatus());
                 }
-                defaultOptions.addArguments("--no-sandbox");
-                defaultOptions.addArguments("--disable-dev-shm-usage");
-                driver = new ChromeDriver(defaultOptions);
+            }
+        }
+        return factory;
+    }
+    
+    private static WebDriver launchDriver(String browser, boolean headless) {
+        PageLoadStrategy loadStrategy = pageLoadStrategy();
+        String name = browser.toLowerCase();
+        if (!"chrome".equals(name) && !"firefox".equals(name)) {
+            logger.warn("Browser '{}' not supported. Defaulting to Chrome.", browser);
+            name = "chrome";
+        }
+        Capabilities options = "firefox".equals(name)
+                ? firefoxOptions(headless, loadStrategy)
+                : chromeOptions(headless, loadStrategy);
+        
+        WebDriver driver;
+        if (isRemote()) {
+            driver = remoteSessions().create(options);
+        } else {
+            DriverBinaryResolver.resolve(name);
+            Path profile = null;
+            if ("chrome".equals(name) && BrowserProfiles.isEnabled()) {
+                profile = BrowserProfiles.checkout();
+                ((ChromeOptions) options).addArguments("--user-data-dir=" + profile);
+            }
+            try {
+                driver = "firefox".equals(name)
+                        ? new FirefoxDriver((FirefoxOptions) options)
+                        : new ChromeDriver((ChromeOptions) options);
+            } catch (RuntimeException e) {
+                BrowserProfiles.release(profile);
+                throw e;
+            }
         }
         
-        // Configure driver timeouts
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+        NetworkProfile.fromSystemProperties().apply(driver);
+        ScriptTransport.attach(driver);
+        
+        // Configure driver timeouts. Page objects wait explicitly, so lookups never block on an implicit wait
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
         driver.manage().window().maximize();
-        
-        driverThreadLocal.set(driver);
-        logger.info("WebDriver created successfully: {}", browser);
         return driver;
     }
     
@@ -86,9 +239,21 @@ public class DriverFactory {
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
-            driver.quit();
+            quit(driver);
             driverThreadLocal.remove();
             logger.info("WebDriver quit successfully");
         }
     }
+    
+    /**
+     * Quits a session and hands its warm browser profile, if it had one, to the next session
+     * @param driver Raw or decorated driver
+     */
+    static void quit(WebDriver driver) {
+        Path profile = BrowserProfiles.isEnabled() ? BrowserProfiles.userDataDir(driver) : null;
+        ScriptTransport.detach(driver);
+        driver.quit();
+        // A profile whose browser failed to quit may still be locked, so it is not handed out again
+        BrowserProfiles.release(profile);
+    }
 }
\ No newline at end of file
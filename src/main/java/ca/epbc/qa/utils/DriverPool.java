@@ -0,0 +1,278 @@
+package ca.epbc.qa.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pool of pre-launched WebDriver sessions that are lent out per test and reset on return
+ */
+public class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}" +
+            "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final String name;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final Supplier<WebDriver> launcher;
+    private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private final Set<WebDriver> used = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final AtomicInteger liveSessions = new AtomicInteger();
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalBorrowNanos = new AtomicLong();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final AtomicLong reuseCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool and pre-launches its sessions in parallel
+     * @param name Pool name used in log output
+     * @param size Number of sessions to pre-launch and the maximum number of live sessions
+     * @param borrowTimeoutMillis How long a borrow may block waiting for a free session
+     * @param launcher Creates a new, fully configured WebDriver session
+     */
+    public DriverPool(String name, int size, long borrowTimeoutMillis, Supplier<WebDriver> launcher) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1 but was " + size);
+        }
+        this.name = name;
+        this.maxSize = size;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.launcher = launcher;
+        prewarm();
+    }
+
+    private void prewarm() {
+        long start = System.nanoTime();
+        ExecutorService launchers = Executors.newFixedThreadPool(maxSize);
+        try {
+            List<CompletableFuture<Void>> launches = new ArrayList<>();
+            for (int i = 0; i < maxSize; i++) {
+                liveSessions.incrementAndGet();
+                launches.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        idle.add(launcher.get());
+                    } catch (RuntimeException e) {
+                        liveSessions.decrementAndGet();
+                        logger.warn("Pool '{}' could not pre-launch a session: {}", name, e.getMessage());
+                    }
+                }, launchers));
+            }
+            CompletableFuture.allOf(launches.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            launchers.shutdown();
+        }
+        logger.info("Pool '{}' pre-launched {} of {} sessions in {} ms",
+                name, idle.size(), maxSize, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Lends a healthy session from the pool, launching a replacement if an evicted slot is free
+     * @return WebDriver session reserved for the caller
+     */
+    public WebDriver borrow() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool '" + name + "' is closed");
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            WebDriver driver = idle.poll();
+            if (driver == null && tryReserveSlot()) {
+                try {
+                    driver = launcher.get();
+                } catch (RuntimeException e) {
+                    liveSessions.decrementAndGet();
+                    throw e;
+                }
+            }
+            if (driver == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Timed out after " + borrowTimeoutMillis
+                            + " ms waiting for a session from driver pool '" + name + "'");
+                }
+                try {
+                    driver = idle.poll(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while borrowing from driver pool '" + name + "'", e);
+                }
+                if (driver == null) {
+                    continue;
+                }
+            }
+            if (!isAlive(driver)) {
+                evict(driver, "session no longer responds");
+                continue;
+            }
+            recordBorrow(driver, System.nanoTime() - start);
+            return driver;
+        }
+    }
+
+    /**
+     * Returns a session to the pool after resetting it to a clean state; crashed sessions are evicted
+     * @param driver Session previously obtained from {@link #borrow()}
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (closed) {
+            quitQuietly(driver);
+            liveSessions.decrementAndGet();
+            return;
+        }
+        try {
+            reset(driver);
+            idle.add(driver);
+        } catch (RuntimeException e) {
+            evict(driver, "reset failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Quits every idle session and logs the pool metrics. Sessions still on loan are quit when released.
+     */
+    public void close() {
+        closed = true;
+        WebDriver driver;
+        while ((driver = idle.poll()) != null) {
+            quitQuietly(driver);
+            liveSessions.decrementAndGet();
+        }
+        logger.info("Pool '{}' closed - {}", name, metricsSummary());
+    }
+
+    private boolean tryReserveSlot() {
+        while (true) {
+            int current = liveSessions.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (liveSessions.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes extra windows, clears local and session storage of the page the session is on and deletes the
+     * cookies of every domain. Storage of other origins the test visited is not cleared; the suite only uses
+     * the origin under test, so tests that open other origins should not run with a pool.
+     */
+    private void reset(WebDriver driver) {
+        Set<String> handles = driver.getWindowHandles();
+        String keep = handles.iterator().next();
+        for (String handle : handles) {
+            if (!handle.equals(keep)) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+        }
+        driver.switchTo().window(keep);
+
+        // Storage is origin-scoped, so clear it before leaving the page under test
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        if (driver instanceof HasCdp) {
+            ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        driver.get("about:blank");
+    }
+
+    private void evict(WebDriver driver, String reason) {
+        synchronized (used) {
+            used.remove(driver);
+        }
+        quitQuietly(driver);
+        liveSessions.decrementAndGet();
+        evictionCount.incrementAndGet();
+        logger.warn("Pool '{}' evicted a session: {}", name, reason);
+    }
+
+    private void recordBorrow(WebDriver driver, long nanos) {
+        borrowCount.incrementAndGet();
+        totalBorrowNanos.addAndGet(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+        synchronized (used) {
+            if (!used.add(driver)) {
+                reuseCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            DriverFactory.quit(driver);
+        } catch (RuntimeException e) {
+            logger.debug("Ignoring error while quitting pooled session: {}", e.getMessage());
+        }
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public double getAverageBorrowMillis() {
+        long count = borrowCount.get();
+        return count == 0 ? 0 : totalBorrowNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxBorrowMillis() {
+        return maxBorrowNanos.get() / 1_000_000.0;
+    }
+
+    public long getReuseCount() {
+        return reuseCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Gets a one-line summary of the pool metrics
+     * @return Metrics summary
+     */
+    public String metricsSummary() {
+        return String.format("borrows=%d, avgBorrowMs=%.1f, maxBorrowMs=%.1f, reuses=%d, evictions=%d",
+                getBorrowCount(), getAverageBorrowMillis(), getMaxBorrowMillis(), getReuseCount(), getEvictionCount());
+    }
+}
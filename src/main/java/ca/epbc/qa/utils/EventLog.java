@@ -0,0 +1,404 @@
+package ca.epbc.qa.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Structured event log for hot paths such as BasePage clicks and typing. Callers publish an event type and its
+ * arguments into a preallocated ring buffer, with no formatting or string building on the calling thread; a
+ * background writer turns them into JSON lines. Events below eventlog.level (default INFO) cost a field
+ * read, each level can be sampled with eventlog.sample.&lt;level&gt; (keep one in N), and when the buffer is full
+ * events are dropped and counted rather than blocking the test. The writer sleeps while the buffer is empty and
+ * is woken by the next event; a shutdown hook drains the buffer and closes the file. Fields whose name matches
+ * eventlog.sensitivePattern, and text or value fields of events that mention a matching locator or field, are
+ * masked. Configured with the eventlog.* system properties; events go to eventlog.file
+ * (default target/events.jsonl) and, with eventlog.console=true, to the console.
+ */
+public final class EventLog {
+    private static final Logger logger = LoggerFactory.getLogger(EventLog.class);
+    private static final Level THRESHOLD = Level.parse(System.getProperty("eventlog.level", "INFO"));
+    static final Pattern SENSITIVE = Pattern.compile(
+            System.getProperty("eventlog.sensitivePattern", "(?i)pass(word|wd)?|secret|token"));
+    private static final String MASK = "******";
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(2, Integer.getInteger("eventlog.bufferSize", 8192) - 1)) << 1;
+    private static final Slot[] slots = new Slot[CAPACITY];
+    private static final AtomicLong head = new AtomicLong();
+    private static final LongAdder dropped = new LongAdder();
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final Thread writer;
+    private static volatile long tail;
+    private static volatile long flushed;
+    private static volatile boolean writerParked;
+    private static volatile boolean closing;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new Slot(i);
+        }
+        writer = new Thread(new EventWriter(), "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(EventLog::close, "event-log-close"));
+    }
+
+    private EventLog() {
+    }
+
+    /**
+     * Checks whether events of a level are recorded at all
+     * @param level Event level
+     * @return true if the level is at or above eventlog.level
+     */
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(THRESHOLD) >= 0;
+    }
+
+    /**
+     * Publishes an event with one argument
+     * @param type Event type
+     * @param source Object the event is about, usually the page object; written as its class's simple name
+     * @param first Value of the type's first field
+     */
+    public static void log(EventType type, Object source, Object first) {
+        log(type, source, first, null);
+    }
+
+    /**
+     * Publishes an event. Arguments are kept by reference and only formatted by the writer thread,
+     * so they must not be mutated afterwards.
+     * @param type Event type
+     * @param source Object the event is about, usually the page object; written as its class's simple name
+     * @param first Value of the type's first field
+     * @param second Value of the type's second field
+     */
+    public static void log(EventType type, Object source, Object first, Object second) {
+        Level level = type.level;
+        if (!isEnabled(level) || sampledOut(level.sampleEvery)) {
+            return;
+        }
+        Slot slot;
+        long position;
+        while (true) {
+            position = head.get();
+            slot = slots[(int) (position & (CAPACITY - 1))];
+            long lag = slot.sequence - position;
+            if (lag == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (lag < 0) {
+                // The writer has not freed this slot yet: the buffer is full
+                dropped.increment();
+                return;
+            }
+        }
+        slot.timeMillis = System.currentTimeMillis();
+        slot.thread = Thread.currentThread().getName();
+        slot.type = type;
+        slot.source = source;
+        slot.first = first;
+        slot.second = second;
+        slot.sequence = position + 1;
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Decides whether sampling drops an event
+     * @param sampleEvery Keep one event in this many
+     * @return true if the event is dropped
+     */
+    static boolean sampledOut(int sampleEvery) {
+        return sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0;
+    }
+
+    /**
+     * Waits (up to two seconds) until every event published so far has been written and flushed
+     */
+    public static void flush() {
+        long target = head.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        LockSupport.unpark(writer);
+        while (flushed < target && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Stops the writer once it has drained the buffer and closed the file, waiting up to two seconds.
+     * Runs as a shutdown hook; events published afterwards are not written.
+     */
+    static void close() {
+        closing = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of events dropped because the buffer was full
+     * @return Dropped events since startup
+     */
+    public static long droppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Event levels; each can be sampled with eventlog.sample.&lt;level&gt;=N to keep one event in N
+     */
+    public enum Level {
+        TRACE, DEBUG, INFO, WARN, ERROR;
+
+        private final int sampleEvery = Math.max(1,
+                Integer.getInteger("eventlog.sample." + name().toLowerCase(Locale.ROOT), 1));
+
+        private static Level parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return INFO;
+            }
+        }
+    }
+
+    /**
+     * A kind of event: its name, level and the names of its (at most two) fields
+     */
+    public static final class EventType {
+        private final String name;
+        private final Level level;
+        private final String[] fields;
+
+        public EventType(String name, Level level, String... fields) {
+            if (fields.length > 2) {
+                throw new IllegalArgumentException("Events carry at most two fields: " + name);
+            }
+            this.name = name;
+            this.level = level;
+            this.fields = fields.clone();
+        }
+
+        public boolean isEnabled() {
+            return EventLog.isEnabled(level);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static final class Slot {
+        private volatile long sequence;
+        private long timeMillis;
+        private String thread;
+        private EventType type;
+        private Object source;
+        private Object first;
+        private Object second;
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Turns one event into a JSON line, masking sensitive values
+     */
+    static final class LineFormatter {
+        private final Pattern sensitive;
+        private final StringBuilder line = new StringBuilder(256);
+
+        LineFormatter(Pattern sensitive) {
+            this.sensitive = sensitive;
+        }
+
+        String format(long timeMillis, String thread, EventType type, Object source, Object first, Object second) {
+            boolean sensitiveContext = false;
+            Object[] values = {first, second};
+            for (int i = 0; i < type.fields.length; i++) {
+                if (values[i] != null && sensitive.matcher(String.valueOf(values[i])).find()) {
+                    sensitiveContext = true;
+                }
+            }
+            line.setLength(0);
+            line.append("{\"time\":\"").append(Instant.ofEpochMilli(timeMillis))
+                    .append("\",\"level\":\"").append(type.level)
+                    .append("\",\"thread\":");
+            appendString(thread);
+            line.append(",\"event\":");
+            appendString(type.name);
+            if (source != null) {
+                line.append(",\"source\":");
+                appendString(source instanceof Class ? ((Class<?>) source).getSimpleName()
+                        : source.getClass().getSimpleName());
+            }
+            for (int i = 0; i < type.fields.length; i++) {
+                String field = type.fields[i];
+                boolean mask = sensitive.matcher(field).find()
+                        || (sensitiveContext && ("text".equals(field) || "value".equals(field)));
+                line.append(',');
+                appendString(field);
+                line.append(':');
+                if (values[i] == null) {
+                    line.append("null");
+                } else if (values[i] instanceof Number || values[i] instanceof Boolean) {
+                    line.append(values[i]);
+                } else {
+                    appendString(mask ? MASK : String.valueOf(values[i]));
+                }
+            }
+            return line.append('}').toString();
+        }
+
+        private void appendString(String value) {
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    line.append('\\').append(c);
+                } else if (c < 0x20) {
+                    line.append(String.format("\\u%04x", (int) c));
+                } else {
+                    line.append(c);
+                }
+            }
+            line.append('"');
+        }
+    }
+
+    /**
+     * Drains the ring buffer into the event file, batching writes while events keep arriving and sleeping
+     * while it is empty
+     */
+    private static final class EventWriter implements Runnable {
+        private final boolean console = Boolean.getBoolean("eventlog.console");
+        private final LineFormatter formatter = new LineFormatter(SENSITIVE);
+        private Writer file;
+        private long reportedDrops;
+
+        @Override
+        public void run() {
+            open();
+            while (!closing) {
+                if (drain() == 0) {
+                    reportDrops();
+                    flushFile();
+                    flushed = tail;
+                    writerParked = true;
+                    // Re-check after announcing the park, so an event published in between is not missed
+                    if (!closing && !hasNext()) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    writerParked = false;
+                }
+            }
+            drain();
+            reportDrops();
+            closeFile();
+            flushed = tail;
+        }
+
+        private boolean hasNext() {
+            return slots[(int) (tail & (CAPACITY - 1))].sequence == tail + 1;
+        }
+
+        private int drain() {
+            int written = 0;
+            while (true) {
+                long position = tail;
+                Slot slot = slots[(int) (position & (CAPACITY - 1))];
+                if (slot.sequence != position + 1) {
+                    return written;
+                }
+                write(formatter.format(slot.timeMillis, slot.thread, slot.type, slot.source, slot.first, slot.second));
+                slot.type = null;
+                slot.source = null;
+                slot.first = null;
+                slot.second = null;
+                slot.sequence = position + CAPACITY;
+                tail = position + 1;
+                written++;
+            }
+        }
+
+        private void reportDrops() {
+            long drops = dropped.sum();
+            if (drops > reportedDrops) {
+                write("{\"time\":\"" + Instant.now() + "\",\"level\":\"WARN\",\"event\":\"eventlog.dropped\",\"count\":"
+                        + (drops - reportedDrops) + "}");
+                reportedDrops = drops;
+            }
+        }
+
+        private void write(String json) {
+            if (console) {
+                logger.info(json);
+            }
+            if (file == null) {
+                return;
+            }
+            try {
+                file.write(json);
+                file.write('\n');
+            } catch (IOException e) {
+                logger.warn("Could not write event log, disabling it: {}", e.getMessage());
+                file = null;
+            }
+        }
+
+        private void flushFile() {
+            if (file == null) {
+                return;
+            }
+            try {
+                file.flush();
+            } catch (IOException e) {
+                logger.warn("Could not flush event log: {}", e.getMessage());
+            }
+        }
+
+        private void closeFile() {
+            if (file == null) {
+                return;
+            }
+            try {
+                file.close();
+            } catch (IOException e) {
+                logger.warn("Could not close event log: {}", e.getMessage());
+            }
+            file = null;
+        }
+
+        private void open() {
+            Path path = Paths.get(System.getProperty("eventlog.file", "target/events.jsonl"));
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                file = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                logger.warn("Could not open event log {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
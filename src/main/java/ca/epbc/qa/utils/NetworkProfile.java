@@ -0,0 +1,166 @@
+package ca.epbc.qa.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Network profile applied to every Chromium session. The "full" profile loads everything; the "lean"
+ * profile blocks the URL patterns of a block list (analytics, ads and tracking by default) and, unless
+ * switched off, images and web fonts. Blocking uses the CDP Network.setBlockedURLs command, so it only
+ * applies to Chromium browsers.
+ */
+public class NetworkProfile {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkProfile.class);
+    private static final String DEFAULT_BLOCKLIST = "/network-blocklist.txt";
+    private static final List<String> IMAGE_PATTERNS = patternsForExtensions(
+            "png", "jpg", "jpeg", "gif", "webp", "avif", "svg", "ico", "bmp");
+    private static final List<String> FONT_PATTERNS = patternsForExtensions("woff", "woff2", "ttf", "otf", "eot");
+    private static volatile NetworkProfile current;
+
+    private final String name;
+    private final List<String> blockedPatterns;
+    private final boolean monitored;
+
+    /**
+     * Creates a profile
+     * @param name Profile name, used to key the statistics
+     * @param blockedPatterns CDP URL patterns to block
+     * @param monitored Whether to collect request, byte and page-load statistics
+     */
+    public NetworkProfile(String name, List<String> blockedPatterns, boolean monitored) {
+        this.name = name;
+        this.blockedPatterns = Collections.unmodifiableList(new ArrayList<>(blockedPatterns));
+        this.monitored = monitored;
+    }
+
+    /**
+     * Gets the profile selected by the network.profile system property (full or lean), built once per JVM.
+     * The lean profile reads network.blocklist.file, network.block.images and network.block.fonts.
+     * Statistics are collected for the lean profile, or for any profile with network.stats=true.
+     * @return NetworkProfile
+     */
+    public static NetworkProfile fromSystemProperties() {
+        NetworkProfile profile = current;
+        if (profile == null) {
+            synchronized (NetworkProfile.class) {
+                profile = current;
+                if (profile == null) {
+                    profile = build();
+                    current = profile;
+                }
+            }
+        }
+        return profile;
+    }
+
+    private static NetworkProfile build() {
+        String name = System.getProperty("network.profile", "full").toLowerCase();
+        List<String> patterns = new ArrayList<>();
+        if ("lean".equals(name)) {
+            patterns.addAll(readBlocklist(System.getProperty("network.blocklist.file")));
+            if (Boolean.parseBoolean(System.getProperty("network.block.images", "true"))) {
+                patterns.addAll(IMAGE_PATTERNS);
+            }
+            if (Boolean.parseBoolean(System.getProperty("network.block.fonts", "true"))) {
+                patterns.addAll(FONT_PATTERNS);
+            }
+        } else if (!"full".equals(name)) {
+            logger.warn("Network profile '{}' not supported. Defaulting to full.", name);
+            name = "full";
+        }
+        boolean monitored = Boolean.parseBoolean(System.getProperty("network.stats", String.valueOf("lean".equals(name))));
+        NetworkProfile profile = new NetworkProfile(name, patterns, monitored);
+        logger.info("Network profile '{}' blocking {} URL patterns{}", name, patterns.size(),
+                monitored ? ", collecting network statistics" : "");
+        return profile;
+    }
+
+    /**
+     * Applies the profile to a freshly launched session. Browsers without DevTools are left untouched.
+     * @param driver Undecorated driver
+     */
+    public void apply(WebDriver driver) {
+        if (blockedPatterns.isEmpty() && !monitored) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("Network profile '{}' needs Chrome DevTools; {} loads every resource",
+                    name, driver.getClass().getSimpleName());
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            if (monitored) {
+                NetworkStats.monitor(devTools, name);
+            }
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            if (!blockedPatterns.isEmpty()) {
+                devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", blockedPatterns)));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not apply network profile '{}': {}", name, e.getMessage());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getBlockedPatterns() {
+        return blockedPatterns;
+    }
+
+    public boolean isMonitored() {
+        return monitored;
+    }
+
+    private static List<String> readBlocklist(String file) {
+        try (InputStream in = file != null
+                ? Files.newInputStream(Paths.get(file))
+                : NetworkProfile.class.getResourceAsStream(DEFAULT_BLOCKLIST)) {
+            if (in == null) {
+                logger.warn("Network block list {} not found", DEFAULT_BLOCKLIST);
+                return Collections.emptyList();
+            }
+            List<String> patterns = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    patterns.add(line);
+                }
+            }
+            return patterns;
+        } catch (IOException e) {
+            logger.warn("Could not read network block list {}: {}", file, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static List<String> patternsForExtensions(String... extensions) {
+        List<String> patterns = new ArrayList<>();
+        for (String extension : extensions) {
+            patterns.add("*." + extension);
+            patterns.add("*." + extension + "?*");
+        }
+        return Collections.unmodifiableList(patterns);
+    }
+}
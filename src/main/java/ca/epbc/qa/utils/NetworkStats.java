@@ -0,0 +1,260 @@
+package ca.epbc.qa.utils;
+
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-run network statistics of the sessions a {@link NetworkProfile} monitors, kept separately for each
+ * profile: requests, transferred and blocked counts and main-frame page-load time, all taken from DevTools events.
+ * Blocked requests never reach the network, so their size is unknown. When both profiles ran in this run,
+ * time and bytes saved are measured between them; otherwise they are estimated against the averages of the
+ * last run with the other profile, kept in the file set with the network.baseline.file system property,
+ * and reported as such.
+ */
+public final class NetworkStats {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkStats.class);
+    private static final Map<String, Counters> byProfile = new ConcurrentHashMap<>();
+
+    private NetworkStats() {
+    }
+
+    /**
+     * Subscribes to the request and page lifecycle events of a DevTools session
+     * @param devTools DevTools with an open session
+     * @param profile Name of the profile the session runs with
+     */
+    static void monitor(DevTools devTools, String profile) {
+        Counters counters = byProfile.computeIfAbsent(profile, name -> new Counters());
+        PageLoadTracker tracker = new PageLoadTracker(counters);
+        devTools.addListener(event("Network.requestWillBeSent"), params -> {
+            counters.requests.increment();
+            tracker.requestWillBeSent(params);
+        });
+        devTools.addListener(event("Network.loadingFinished"),
+                params -> counters.transferredBytes.add(longValue(params.get("encodedDataLength"))));
+        devTools.addListener(event("Network.loadingFailed"), params -> {
+            if (params.get("blockedReason") != null) {
+                counters.blockedRequests.increment();
+            }
+        });
+        devTools.addListener(event("Page.frameNavigated"), tracker::frameNavigated);
+        devTools.addListener(event("Page.loadEventFired"), tracker::loadEventFired);
+        devTools.send(new Command<>("Page.enable", Map.of()));
+    }
+
+    public static long getRequests(String profile) {
+        return counters(profile).requests.sum();
+    }
+
+    public static long getTransferredBytes(String profile) {
+        return counters(profile).transferredBytes.sum();
+    }
+
+    public static long getBlockedRequests(String profile) {
+        return counters(profile).blockedRequests.sum();
+    }
+
+    public static long getPageLoads(String profile) {
+        return counters(profile).pageLoads.sum();
+    }
+
+    public static double getAveragePageLoadMillis(String profile) {
+        return counters(profile).averagePageLoadMillis();
+    }
+
+    /**
+     * Logs this run's statistics per profile and stores each profile's averages as its baseline.
+     * If both profiles loaded pages in this run they are compared with each other; otherwise each profile
+     * is compared with the stored baseline of the other one, labelled as an estimate from that earlier run.
+     * Does nothing if no page load was monitored.
+     */
+    public static void logSummary() {
+        Map<String, Counters> measured = new TreeMap<>();
+        byProfile.forEach((name, counters) -> {
+            if (counters.pageLoads.sum() > 0) {
+                measured.put(name, counters);
+            }
+        });
+        if (measured.isEmpty()) {
+            return;
+        }
+        measured.forEach((name, counters) -> logger.info("Network profile '{}': {} page loads, {} requests "
+                        + "({} blocked), {} KB transferred, avg page load {} ms, avg {} KB per page",
+                name, counters.pageLoads.sum(), counters.requests.sum(), counters.blockedRequests.sum(),
+                counters.transferredBytes.sum() / 1024, String.format("%.0f", counters.averagePageLoadMillis()),
+                String.format("%.0f", counters.averageBytesPerLoad() / 1024)));
+
+        Path file = Paths.get(System.getProperty("network.baseline.file", ".epbc-cache/network-baseline.properties"));
+        Properties baseline = load(file);
+        Counters lean = measured.get("lean");
+        Counters full = measured.get("full");
+        if (lean != null && full != null) {
+            logSaving("Measured in this run", full.averagePageLoadMillis(), full.averageBytesPerLoad(),
+                    full.averageRequestsPerLoad(), lean.averagePageLoadMillis(), lean.averageBytesPerLoad(),
+                    lean.averageRequestsPerLoad());
+        } else {
+            String name = measured.keySet().iterator().next();
+            String other = "lean".equals(name) ? "full" : "lean";
+            if (baseline.containsKey(other + ".avgLoadMillis")) {
+                double otherLoad = Double.parseDouble(baseline.getProperty(other + ".avgLoadMillis"));
+                double otherBytes = Double.parseDouble(baseline.getProperty(other + ".avgBytesPerLoad"));
+                double otherRequests = Double.parseDouble(baseline.getProperty(other + ".avgRequestsPerLoad"));
+                String label = String.format("Estimate against the '%s' run recorded %s in %s", other,
+                        baseline.getProperty(other + ".recordedAt", "earlier"), file);
+                Counters current = measured.get(name);
+                if ("lean".equals(name)) {
+                    logSaving(label, otherLoad, otherBytes, otherRequests, current.averagePageLoadMillis(),
+                            current.averageBytesPerLoad(), current.averageRequestsPerLoad());
+                } else {
+                    logSaving(label, current.averagePageLoadMillis(), current.averageBytesPerLoad(),
+                            current.averageRequestsPerLoad(), otherLoad, otherBytes, otherRequests);
+                }
+            } else {
+                logger.info("No '{}' baseline in {} yet; run once with -Dnetwork.profile={} -Dnetwork.stats=true "
+                        + "to estimate time and bytes saved", other, file, other);
+            }
+        }
+
+        String recordedAt = Instant.now().toString();
+        measured.forEach((name, counters) -> {
+            baseline.setProperty(name + ".pageLoads", String.valueOf(counters.pageLoads.sum()));
+            baseline.setProperty(name + ".avgLoadMillis", String.valueOf(counters.averagePageLoadMillis()));
+            baseline.setProperty(name + ".avgBytesPerLoad", String.valueOf(counters.averageBytesPerLoad()));
+            baseline.setProperty(name + ".avgRequestsPerLoad", String.valueOf(counters.averageRequestsPerLoad()));
+            baseline.setProperty(name + ".recordedAt", recordedAt);
+        });
+        store(file, baseline);
+    }
+
+    private static void logSaving(String label, double fullLoadMillis, double fullBytes, double fullRequests,
+                                  double leanLoadMillis, double leanBytes, double leanRequests) {
+        logger.info("{}: the lean profile saves {} ms, {} KB and {} requests per page load", label,
+                String.format("%.0f", fullLoadMillis - leanLoadMillis),
+                String.format("%.0f", (fullBytes - leanBytes) / 1024),
+                String.format("%.1f", fullRequests - leanRequests));
+    }
+
+    private static Counters counters(String profile) {
+        Counters counters = byProfile.get(profile);
+        return counters == null ? Counters.EMPTY : counters;
+    }
+
+    private static Properties load(Path file) {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                logger.warn("Could not read network baseline {}: {}", file, e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private static void store(Path file, Properties properties) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                properties.store(writer, "Average page load cost per network profile");
+            }
+        } catch (IOException e) {
+            logger.warn("Could not save network baseline to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * Running totals of one profile
+     */
+    private static final class Counters {
+        static final Counters EMPTY = new Counters();
+
+        final LongAdder requests = new LongAdder();
+        final LongAdder transferredBytes = new LongAdder();
+        final LongAdder blockedRequests = new LongAdder();
+        final LongAdder pageLoads = new LongAdder();
+        final LongAdder pageLoadMicros = new LongAdder();
+
+        double averagePageLoadMillis() {
+            long loads = pageLoads.sum();
+            return loads == 0 ? 0 : pageLoadMicros.sum() / 1_000.0 / loads;
+        }
+
+        double averageBytesPerLoad() {
+            long loads = pageLoads.sum();
+            return loads == 0 ? 0 : (double) transferredBytes.sum() / loads;
+        }
+
+        double averageRequestsPerLoad() {
+            long loads = pageLoads.sum();
+            return loads == 0 ? 0 : (double) requests.sum() / loads;
+        }
+    }
+
+    /**
+     * Times main-frame navigations from the document request to the load event of one session
+     */
+    private static final class PageLoadTracker {
+        private final Map<String, Double> navigationStarts = new ConcurrentHashMap<>();
+        private final Counters counters;
+        private volatile String mainFrameId;
+
+        PageLoadTracker(Counters counters) {
+            this.counters = counters;
+        }
+
+        void requestWillBeSent(Map<String, Object> params) {
+            Object requestId = params.get("requestId");
+            if ("Document".equals(params.get("type")) && requestId != null && requestId.equals(params.get("loaderId"))
+                    && params.get("redirectResponse") == null && params.get("timestamp") instanceof Number) {
+                navigationStarts.put(String.valueOf(params.get("frameId")), ((Number) params.get("timestamp")).doubleValue());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void frameNavigated(Map<String, Object> params) {
+            Map<String, Object> frame = (Map<String, Object>) params.get("frame");
+            if (frame != null && frame.get("parentId") == null) {
+                mainFrameId = String.valueOf(frame.get("id"));
+            }
+        }
+
+        void loadEventFired(Map<String, Object> params) {
+            String frameId = mainFrameId;
+            Double start = frameId == null ? null : navigationStarts.remove(frameId);
+            if (start != null && params.get("timestamp") instanceof Number) {
+                double seconds = ((Number) params.get("timestamp")).doubleValue() - start;
+                if (seconds >= 0) {
+                    counters.pageLoads.increment();
+                    counters.pageLoadMicros.add(Math.round(seconds * 1_000_000));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ca.epbc.qa.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Percentile limits per transition and metric, read from a properties file with one
+ * &lt;transition&gt;.&lt;metric&gt;.p&lt;percentile&gt;=&lt;limit&gt; entry per budget,
+ * e.g. search.submit.durationMillis.p95=4000
+ */
+public class PerformanceBudget {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceBudget.class);
+    private static final Pattern KEY = Pattern.compile("(.+?)\\.((?:cdp\\.)?[A-Za-z]\\w*)\\.p(\\d+(?:\\.\\d+)?)");
+    private static final String DEFAULT_BUDGET = "/performance-budget.properties";
+
+    private final List<Limit> limits;
+
+    public PerformanceBudget(List<Limit> limits) {
+        this.limits = Collections.unmodifiableList(new ArrayList<>(limits));
+    }
+
+    /**
+     * Loads the budget named by the perf.budget.file system property, or performance-budget.properties
+     * from the classpath
+     * @return PerformanceBudget, empty if no budget file exists
+     */
+    public static PerformanceBudget fromSystemProperties() {
+        String file = System.getProperty("perf.budget.file");
+        Properties properties = new Properties();
+        try (InputStream in = file != null
+                ? Files.newInputStream(Paths.get(file))
+                : PerformanceBudget.class.getResourceAsStream(DEFAULT_BUDGET)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read performance budget {}: {}", file, e.getMessage());
+        }
+
+        List<Limit> limits = new ArrayList<>();
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            Matcher matcher = KEY.matcher(key);
+            if (!matcher.matches()) {
+                logger.warn("Ignoring performance budget entry '{}': expected <transition>.<metric>.p<percentile>", key);
+                continue;
+            }
+            limits.add(new Limit(matcher.group(1), matcher.group(2), Double.parseDouble(matcher.group(3)),
+                    Double.parseDouble(properties.getProperty(key).trim())));
+        }
+        return new PerformanceBudget(limits);
+    }
+
+    public List<Limit> getLimits() {
+        return limits;
+    }
+
+    /**
+     * Checks samples against every limit. Limits whose transition and metric have no sample are skipped.
+     * @param samples Samples to aggregate
+     * @return One message per exceeded limit; empty when the budget is met
+     */
+    public List<String> violations(List<TransitionMetrics> samples) {
+        List<String> violations = new ArrayList<>();
+        for (Limit limit : limits) {
+            Double actual = PerformanceRecorder.percentile(samples, limit.transition, limit.metric, limit.percentile);
+            if (actual == null) {
+                logger.warn("No samples for budget {}", limit);
+            } else if (actual > limit.maximum) {
+                violations.add(String.format("%s was %.0f", limit, actual));
+            } else {
+                logger.info("Within budget {}: {}", limit, String.format("%.0f", actual));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Maximum value of one percentile of one metric of one transition
+     */
+    public static class Limit {
+        private final String transition;
+        private final String metric;
+        private final double percentile;
+        private final double maximum;
+
+        public Limit(String transition, String metric, double percentile, double maximum) {
+            this.transition = transition;
+            this.metric = metric;
+            this.percentile = percentile;
+            this.maximum = maximum;
+        }
+
+        public String getTransition() {
+            return transition;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public double getMaximum() {
+            return maximum;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s p%s <= %.0f", transition, metric,
+                    percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile),
+                    maximum);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package ca.epbc.qa.utils;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects the {@link TransitionMetrics} captured by the page objects during a run and writes the per-run
+ * performance report. Capture is switched off with -Dperf.capture=false; the report file is set with
+ * perf.report.file.
+ */
+public final class PerformanceRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceRecorder.class);
+    private static final ConcurrentLinkedQueue<TransitionMetrics> samples = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<List<TransitionMetrics>> threadCollector = new ThreadLocal<>();
+
+    private PerformanceRecorder() {
+    }
+
+    /**
+     * Whether page objects should capture transition metrics
+     * @return true unless perf.capture is false
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("perf.capture", "true"));
+    }
+
+    /**
+     * Records a captured transition
+     * @param metrics Captured transition
+     */
+    public static void record(TransitionMetrics metrics) {
+        samples.add(metrics);
+        List<TransitionMetrics> collector = threadCollector.get();
+        if (collector != null) {
+            collector.add(metrics);
+        }
+    }
+
+    /**
+     * Starts collecting the transitions recorded on the current thread, e.g. by a budget test that must not
+     * see samples of tests running in parallel. Collection replaces any previous collector of the thread.
+     * @return Live list of this thread's samples from now on
+     */
+    public static List<TransitionMetrics> collectOnCurrentThread() {
+        List<TransitionMetrics> collector = Collections.synchronizedList(new ArrayList<>());
+        threadCollector.set(collector);
+        return collector;
+    }
+
+    /**
+     * Stops collecting on the current thread
+     */
+    public static void stopCollecting() {
+        threadCollector.remove();
+    }
+
+    /**
+     * Gets every sample of the run
+     * @return Samples in recording order
+     */
+    public static List<TransitionMetrics> samples() {
+        return new ArrayList<>(samples);
+    }
+
+    /**
+     * Computes a nearest-rank percentile of one metric of one transition
+     * @param samples Samples to aggregate
+     * @param transition Transition name
+     * @param metric Metric name
+     * @param percentile Percentile between 0 and 100
+     * @return Percentile value, or null if no sample has the metric
+     */
+    public static Double percentile(List<TransitionMetrics> samples, String transition, String metric, double percentile) {
+        List<Double> values = new ArrayList<>();
+        for (TransitionMetrics sample : samples) {
+            Double value = sample.getMetric(metric);
+            if (sample.getTransition().equals(transition) && value != null) {
+                values.add(value);
+            }
+        }
+        if (values.isEmpty()) {
+            return null;
+        }
+        Collections.sort(values);
+        int rank = (int) Math.ceil(percentile / 100.0 * values.size());
+        return values.get(Math.min(values.size(), Math.max(1, rank)) - 1);
+    }
+
+    /**
+     * Writes the per-run report (p50/p95/max of every metric per transition, plus all samples) and logs
+     * the duration percentiles. Does nothing if no transition was captured.
+     */
+    public static void writeReport() {
+        List<TransitionMetrics> all = samples();
+        if (all.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        for (String transition : transitions(all)) {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            for (String metric : metricNames(all, transition)) {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("p50", percentile(all, transition, metric, 50));
+                stats.put("p95", percentile(all, transition, metric, 95));
+                stats.put("max", percentile(all, transition, metric, 100));
+                metrics.put(metric, stats);
+            }
+            summary.put(transition, metrics);
+            logger.info("Transition {}: {} samples, duration p50 {} ms, p95 {} ms", transition,
+                    all.stream().filter(sample -> sample.getTransition().equals(transition)).count(),
+                    format(percentile(all, transition, "durationMillis", 50)),
+                    format(percentile(all, transition, "durationMillis", 95)));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("summary", summary);
+        List<Map<String, Object>> rows = new ArrayList<>(all.size());
+        all.forEach(sample -> rows.add(sample.toJson()));
+        report.put("samples", rows);
+        Path file = Paths.get(System.getProperty("perf.report.file", "target/performance-report.json"));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, new Json().toJson(report));
+            logger.info("Wrote {} transition samples to {}", all.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not write performance report to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static TreeSet<String> transitions(List<TransitionMetrics> samples) {
+        TreeSet<String> names = new TreeSet<>();
+        samples.forEach(sample -> names.add(sample.getTransition()));
+        return names;
+    }
+
+    private static TreeSet<String> metricNames(List<TransitionMetrics> samples, String transition) {
+        TreeSet<String> names = new TreeSet<>();
+        for (TransitionMetrics sample : samples) {
+            if (sample.getTransition().equals(transition)) {
+                names.addAll(sample.getMetrics().keySet());
+            }
+        }
+        return names;
+    }
+
+    private static String format(Double value) {
+        return value == null ? "-" : String.format("%.0f", value);
+    }
+}
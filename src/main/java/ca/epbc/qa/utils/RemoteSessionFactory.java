@@ -0,0 +1,170 @@
+package ca.epbc.qa.utils;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Creates RemoteWebDriver sessions on a Selenium Grid hub or standalone server. When the grid cannot
+ * start a session because every slot is busy and the new-session queue times out or is full, creation is
+ * retried with exponential backoff; the grid's /status is logged between attempts. Sessions are augmented
+ * so DevTools features (CDP commands, network profile) keep working on Chromium nodes.
+ */
+public class RemoteSessionFactory {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteSessionFactory.class);
+    private static final Json JSON = new Json();
+    private static final List<Pattern> QUEUE_SATURATED = List.of(
+            Pattern.compile("new session request timed out", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("timed out creating session", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("session request queue is full|new session queue is full", Pattern.CASE_INSENSITIVE));
+
+    private final URL gridUrl;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    /**
+     * Creates a factory
+     * @param gridUrl Hub or standalone server URL, e.g. http://localhost:4444
+     * @param maxAttempts Session creation attempts before giving up
+     * @param initialBackoffMillis Delay before the first retry; doubled after every attempt
+     * @param maxBackoffMillis Upper bound of the delay between attempts
+     */
+    public RemoteSessionFactory(URL gridUrl, int maxAttempts, long initialBackoffMillis, long maxBackoffMillis) {
+        this.gridUrl = gridUrl;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Creates a factory configured by the grid.url (default http://localhost:4444), grid.session.attempts
+     * (default 6), grid.session.backoffMillis (default 2000) and grid.session.maxBackoffMillis (default 30000)
+     * system properties
+     * @return RemoteSessionFactory
+     */
+    public static RemoteSessionFactory fromSystemProperties() {
+        String url = System.getProperty("grid.url", "http://localhost:4444");
+        try {
+            return new RemoteSessionFactory(new URL(url),
+                    Integer.getInteger("grid.session.attempts", 6),
+                    Long.getLong("grid.session.backoffMillis", 2_000L),
+                    Long.getLong("grid.session.maxBackoffMillis", 30_000L));
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid grid.url: " + url, e);
+        }
+    }
+
+    /**
+     * Starts a session with the given capabilities
+     * @param capabilities Browser options built by DriverFactory
+     * @return Augmented RemoteWebDriver
+     * @throws SessionNotCreatedException if the grid rejects the capabilities or stays saturated
+     */
+    public WebDriver create(Capabilities capabilities) {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                WebDriver driver = new Augmenter().augment(new RemoteWebDriver(gridUrl, capabilities));
+                logger.info("Remote {} session created on {} in {} ms (attempt {})", capabilities.getBrowserName(),
+                        gridUrl, Duration.ofNanos(System.nanoTime() - start).toMillis(), attempt);
+                return driver;
+            } catch (SessionNotCreatedException e) {
+                if (!isQueueSaturated(e) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                logger.warn("Grid could not start a {} session (attempt {} of {}): {}. {}. Retrying in {} ms",
+                        capabilities.getBrowserName(), attempt, maxAttempts, firstLine(e.getMessage()),
+                        describeStatus(), backoff);
+                sleep(backoff);
+                backoff = Math.min(maxBackoffMillis, backoff * 2);
+            }
+        }
+    }
+
+    /**
+     * Whether a failure means the grid is busy rather than unable to ever serve the request: the session
+     * queue gave up on the request ("New session request timed out", "Timed out creating session" on older
+     * grids) or refused it because the queue is full. Other timeouts, such as a node failing to start its
+     * driver, are not retried.
+     * @param e Session creation failure
+     * @return true if a later attempt may succeed
+     */
+    static boolean isQueueSaturated(SessionNotCreatedException e) {
+        String message = String.valueOf(e.getMessage());
+        return QUEUE_SATURATED.stream().anyMatch(pattern -> pattern.matcher(message).find());
+    }
+
+    /**
+     * Summarises the grid's /status: readiness and free versus total slots
+     * @return One-line grid status, or why it could not be read
+     */
+    @SuppressWarnings("unchecked")
+    public String describeStatus() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(gridUrl.toString().replaceAll("/+$", "") + "/status"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            Map<String, Object> body = JSON.toType(response.body(), Json.MAP_TYPE);
+            Map<String, Object> value = (Map<String, Object>) body.get("value");
+            int slots = 0;
+            int free = 0;
+            for (Map<String, Object> node : (List<Map<String, Object>>) value.getOrDefault("nodes", List.of())) {
+                for (Map<String, Object> slot : (List<Map<String, Object>>) node.getOrDefault("slots", List.of())) {
+                    slots++;
+                    if (slot.get("session") == null) {
+                        free++;
+                    }
+                }
+            }
+            return String.format("Grid ready=%s, %d of %d slots free", value.get("ready"), free, slots);
+        } catch (IOException | RuntimeException e) {
+            return "Grid status unavailable: " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Grid status unavailable: interrupted";
+        }
+    }
+
+    public URL getGridUrl() {
+        return gridUrl;
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting for a grid slot");
+        }
+    }
+}
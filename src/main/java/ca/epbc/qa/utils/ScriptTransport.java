@@ -0,0 +1,214 @@
+package ca.epbc.qa.utils;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transport for the page objects' in-page scripts. With driver.transport=cdp each session gets a DevTools
+ * session when it is launched, and value-returning scripts run through Runtime.evaluate over its WebSocket
+ * instead of one WebDriver HTTP request each. Scripts that take or return elements, async scripts and browsers
+ * without DevTools use classic WebDriver. A DevTools call that fails is retried over WebDriver, and a session
+ * whose DevTools calls keep failing stays on WebDriver for good.
+ * Scripts run in the tab the DevTools session was opened for, so tests that switch windows or frames should
+ * keep the default driver.transport=classic.
+ */
+public final class ScriptTransport {
+    private static final Logger logger = LoggerFactory.getLogger(ScriptTransport.class);
+    private static final Json JSON = new Json();
+    private static final boolean CDP_REQUESTED = "cdp".equalsIgnoreCase(System.getProperty("driver.transport", "classic"));
+    private static final boolean INSTRUMENTED = Boolean.parseBoolean(System.getProperty("driver.instrumentation", "true"));
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+    // Keyed by identity: decorated drivers are proxies whose equals is not reliable
+    private static final Map<WebDriver, Channel> channels = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final LongAdder devToolsScripts = new LongAdder();
+    private static final LongAdder classicScripts = new LongAdder();
+    private static final LongAdder fallbacks = new LongAdder();
+
+    private ScriptTransport() {
+    }
+
+    /**
+     * Opens the DevTools channel of a freshly launched session when driver.transport is cdp.
+     * Browsers without a working DevTools connection are left on classic WebDriver.
+     * @param driver Undecorated driver
+     */
+    static void attach(WebDriver driver) {
+        if (!CDP_REQUESTED) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("driver.transport=cdp needs Chrome DevTools; {} runs page scripts over WebDriver",
+                    driver.getClass().getSimpleName());
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            Channel channel = new Channel(devTools);
+            channel.evaluate("return true;", new Object[0]);
+            channels.put(driver, channel);
+            logger.info("Page scripts run over DevTools for {}", driver.getClass().getSimpleName());
+        } catch (RuntimeException e) {
+            logger.warn("DevTools transport unavailable, page scripts run over WebDriver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lets a decorated driver use the channel of the driver it wraps
+     * @param decorated Decorated driver handed to page objects
+     * @param driver Undecorated driver
+     */
+    static void alias(WebDriver decorated, WebDriver driver) {
+        if (decorated == driver) {
+            return;
+        }
+        Channel channel = channels.get(driver);
+        if (channel != null) {
+            channels.put(decorated, channel);
+        }
+    }
+
+    /**
+     * Drops a decorated driver whose session goes back to a pool; the session keeps its channel
+     * @param decorated Decorated driver
+     * @param driver Undecorated driver
+     */
+    static void forget(WebDriver decorated, WebDriver driver) {
+        if (decorated != driver) {
+            channels.remove(decorated);
+        }
+    }
+
+    /**
+     * Drops the channel of a session that is being quit, under every driver it was registered for
+     * @param driver Raw or decorated driver
+     */
+    static void detach(WebDriver driver) {
+        synchronized (channels) {
+            Channel channel = channels.remove(driver);
+            if (channel != null) {
+                channels.values().removeIf(registered -> registered == channel);
+            }
+        }
+    }
+
+    /**
+     * Runs a script that returns plain values (strings, numbers, booleans, lists and maps of them)
+     * @param driver Driver the page object works with
+     * @param script Function body, as for JavascriptExecutor.executeScript
+     * @param args Script arguments
+     * @return Script result, converted as WebDriver would
+     * @throws JavascriptException if the script throws
+     */
+    public static Object executeScript(WebDriver driver, String script, Object... args) {
+        Channel channel = channels.get(driver);
+        if (channel != null && !channel.disabled && isPlainValue(Arrays.asList(args))) {
+            long start = System.nanoTime();
+            try {
+                Object result = channel.evaluate(script, args);
+                record(start, false);
+                devToolsScripts.increment();
+                channel.consecutiveFailures.set(0);
+                return result;
+            } catch (JavascriptException e) {
+                record(start, true);
+                throw e;
+            } catch (WebDriverException e) {
+                record(start, true);
+                fallbacks.increment();
+                if (channel.consecutiveFailures.incrementAndGet() >= MAX_CONSECUTIVE_FAILURES) {
+                    channel.disabled = true;
+                    logger.warn("DevTools scripts failed {} times in a row, switching this session to WebDriver: {}",
+                            MAX_CONSECUTIVE_FAILURES, e.getMessage());
+                } else {
+                    logger.debug("DevTools script failed, retrying over WebDriver: {}", e.getMessage());
+                }
+            }
+        }
+        classicScripts.increment();
+        return ((JavascriptExecutor) driver).executeScript(script, args);
+    }
+
+    /**
+     * Logs how many scripts ran over DevTools and over WebDriver. Does nothing unless driver.transport is cdp.
+     */
+    public static void logStats() {
+        if (!CDP_REQUESTED) {
+            return;
+        }
+        logger.info("Script transport: {} scripts over DevTools, {} over WebDriver ({} DevTools failures retried)",
+                devToolsScripts.sum(), classicScripts.sum(), fallbacks.sum());
+    }
+
+    private static void record(long startNanos, boolean failed) {
+        if (INSTRUMENTED) {
+            CommandLatencyStats.record(CommandLatencyListener.caller(), "DevTools.evaluate",
+                    System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    private static boolean isPlainValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return true;
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().allMatch(ScriptTransport::isPlainValue);
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).entrySet().stream()
+                    .allMatch(entry -> entry.getKey() instanceof String && isPlainValue(entry.getValue()));
+        }
+        return false;
+    }
+
+    private static String toJson(Object[] args) {
+        StringBuilder json = new StringBuilder();
+        try (JsonOutput output = JSON.newOutput(json)) {
+            output.setPrettyPrint(false).write(Arrays.asList(args));
+        }
+        return json.toString();
+    }
+
+    private static final class Channel {
+        private final DevTools devTools;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean disabled;
+
+        Channel(DevTools devTools) {
+            this.devTools = devTools;
+        }
+
+        @SuppressWarnings("unchecked")
+        Object evaluate(String script, Object[] args) {
+            // The line break keeps a trailing line comment in the script from swallowing the closing brace
+            String expression = "(function () {" + script + "\n}).apply(null, " + toJson(args) + ")";
+            Map<String, Object> response = devTools.send(new Command<Map<String, Object>>("Runtime.evaluate",
+                    Map.of("expression", expression, "returnByValue", true), Json.MAP_TYPE));
+            Map<String, Object> exception = (Map<String, Object>) response.get("exceptionDetails");
+            if (exception != null) {
+                Map<String, Object> thrown = (Map<String, Object>) exception.get("exception");
+                Object description = thrown != null ? thrown.get("description") : exception.get("text");
+                throw new JavascriptException(String.valueOf(description));
+            }
+            Map<String, Object> result = (Map<String, Object>) response.get("result");
+            return result == null ? null : result.get("value");
+        }
+    }
+}
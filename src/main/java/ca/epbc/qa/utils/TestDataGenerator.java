@@ -0,0 +1,24 @@
+package ca.epbc.qa.utils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates unique test data so that tests running in parallel never share an account
+ */
+public class TestDataGenerator {
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final String RUN_ID = UUID.randomUUID().toString().substring(0, 8);
+    
+    private TestDataGenerator() {
+    }
+    
+    /**
+     * Creates credentials for a new user that are unique across threads, JVMs and runs
+     * @return TestUser with generated name, email and password
+     */
+    public static TestUser newUser() {
+        String suffix = System.currentTimeMillis() + "-" + RUN_ID + "-" + sequence.incrementAndGet();
+        return new TestUser("Test", "User", "testuser" + suffix + "@example.com", "TestPassword123!");
+    }
+}
@@ -0,0 +1,39 @@
+package ca.epbc.qa.utils;
+
+/**
+ * Credentials and profile details of a test account
+ */
+public class TestUser {
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String password;
+    
+    public TestUser(String firstName, String lastName, String email, String password) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.password = password;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    @Override
+    public String toString() {
+        return "TestUser{" + email + "}";
+    }
+}
@@ -0,0 +1,66 @@
+package ca.epbc.qa.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timings captured for one page transition (a navigation or a major in-page action): wall-clock duration,
+ * Navigation/Paint Timing when the transition loaded a new document, resources fetched and CDP
+ * Performance.getMetrics values prefixed with "cdp."
+ */
+public class TransitionMetrics {
+    private final String transition;
+    private final String page;
+    private final long capturedAtMillis;
+    private final Map<String, Double> metrics;
+
+    public TransitionMetrics(String transition, String page, long capturedAtMillis, Map<String, Double> metrics) {
+        this.transition = transition;
+        this.page = page;
+        this.capturedAtMillis = capturedAtMillis;
+        this.metrics = Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+    }
+
+    /**
+     * Gets the transition name, e.g. search.submit
+     * @return Transition name
+     */
+    public String getTransition() {
+        return transition;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public long getCapturedAtMillis() {
+        return capturedAtMillis;
+    }
+
+    public Map<String, Double> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets one metric
+     * @param name Metric name, e.g. durationMillis or firstContentfulPaintMillis
+     * @return Value, or null if it was not captured for this transition
+     */
+    public Double getMetric(String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Converts the sample to a JSON-friendly map
+     * @return Map with transition, page, capturedAt and metrics entries
+     */
+    public Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("transition", transition);
+        json.put("page", page);
+        json.put("capturedAt", capturedAtMillis);
+        json.put("metrics", metrics);
+        return json;
+    }
+}
@@ -0,0 +1,56 @@
+package ca.epbc.qa.workflow;
+
+import ca.epbc.qa.fixtures.SessionSnapshot;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * State left behind by a completed workflow step: the browser session (cookies and storage), the page the
+ * browser was on and the values the steps recorded so far, e.g. the selected program
+ */
+public class Checkpoint {
+    private final int stepIndex;
+    private final String stepName;
+    private final SessionSnapshot session;
+    private final String url;
+    private final Map<String, String> values;
+
+    public Checkpoint(int stepIndex, String stepName, SessionSnapshot session, String url, Map<String, String> values) {
+        this.stepIndex = stepIndex;
+        this.stepName = stepName;
+        this.session = session;
+        this.url = url;
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    /**
+     * Gets the position of the step that produced this checkpoint
+     * @return Zero-based step index
+     */
+    public int getStepIndex() {
+        return stepIndex;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public SessionSnapshot getSession() {
+        return session;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint{" + stepName + " @ " + url + ", " + session.getCookies().size() + " cookies, " + values + "}";
+    }
+}
@@ -0,0 +1,215 @@
+package ca.epbc.qa.workflow;
+
+import ca.epbc.qa.utils.TestUser;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A multi-step browser flow built on the page objects. After each checkpointed step the session, URL and
+ * recorded values are captured; when a later step fails with a WebDriverException the browser is restored to
+ * the last checkpoint and the flow resumes from the step after it instead of starting over. Page steps leave
+ * state that only lives in the open page (e.g. client-side filters), so they are not checkpointed; every page
+ * step before the resume point is replayed on the restored page. Steps added with {@link #onceStep} change
+ * server-side state and are never run twice: a resume that would repeat one is not attempted.
+ * Assertion failures are not retried.
+ * Resumes per run are limited by the workflow.maxResumes system property (default 2, 0 disables resuming).
+ */
+public class Workflow {
+    private static final Logger logger = LoggerFactory.getLogger(Workflow.class);
+
+    private final String name;
+    private final List<Step> steps = new ArrayList<>();
+
+    private Workflow(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts defining a workflow
+     * @param name Name used in logs and the workflow report
+     * @return Empty Workflow
+     */
+    public static Workflow named(String name) {
+        return new Workflow(name);
+    }
+
+    /**
+     * Adds a step whose resulting state is checkpointed and that is safe to run again after a failed attempt
+     * @param stepName Step name
+     * @param action Step body
+     * @return This workflow
+     */
+    public Workflow step(String stepName, StepAction action) {
+        steps.add(new Step(stepName, action, true, true));
+        return this;
+    }
+
+    /**
+     * Adds a checkpointed step that must not run twice, e.g. one that creates an account or adds a list entry.
+     * If it fails, or a later failure could only resume from a checkpoint before it, the run fails instead.
+     * @param stepName Step name
+     * @param action Step body
+     * @return This workflow
+     */
+    public Workflow onceStep(String stepName, StepAction action) {
+        steps.add(new Step(stepName, action, true, false));
+        return this;
+    }
+
+    /**
+     * Adds a step whose result only exists in the open page; it is replayed when a later step resumes
+     * @param stepName Step name
+     * @param action Step body; must be safe to run again on a freshly loaded page
+     * @return This workflow
+     */
+    public Workflow pageStep(String stepName, StepAction action) {
+        steps.add(new Step(stepName, action, false, true));
+        return this;
+    }
+
+    /**
+     * Runs every step in order, resuming from the last checkpoint after transient failures.
+     * The run is added to WorkflowStats whether it passes or not.
+     * @param driver Driver of the current test
+     * @param user User the session belongs to
+     * @return WorkflowRun with step timings and resumes
+     */
+    public WorkflowRun run(WebDriver driver, TestUser user) {
+        return run(new WorkflowContext(driver, user));
+    }
+
+    WorkflowRun run(WorkflowContext context) {
+        int maxResumes = Integer.getInteger("workflow.maxResumes", 2);
+        WorkflowRun run = new WorkflowRun(name);
+        long[] stepMillis = new long[steps.size()];
+        Checkpoint checkpoint = null;
+        long runStart = System.nanoTime();
+        int index = 0;
+        try {
+            while (index < steps.size()) {
+                Step step = steps.get(index);
+                long start = System.nanoTime();
+                try {
+                    step.action.run(context);
+                } catch (WebDriverException e) {
+                    run.recordStep(step.name, millisSince(start), false);
+                    if (run.getResumes().size() >= maxResumes || !canResume(checkpoint, index)) {
+                        throw e;
+                    }
+                    index = resume(run, context, checkpoint, stepMillis, step.name, e);
+                    continue;
+                }
+                stepMillis[index] = millisSince(start);
+                run.recordStep(step.name, stepMillis[index], true);
+                if (step.checkpointed) {
+                    checkpoint = capture(run, context, index, step.name, checkpoint);
+                }
+                index++;
+            }
+            run.finish(true, millisSince(runStart));
+            return run;
+        } catch (RuntimeException | Error e) {
+            run.finish(false, millisSince(runStart));
+            throw e;
+        } finally {
+            WorkflowStats.record(run);
+        }
+    }
+
+    private Checkpoint capture(WorkflowRun run, WorkflowContext context, int index, String stepName, Checkpoint previous) {
+        long start = System.nanoTime();
+        try {
+            return context.checkpoint(index, stepName);
+        } catch (WebDriverException e) {
+            logger.warn("Workflow {}: could not checkpoint after '{}', keeping the previous checkpoint: {}",
+                    name, stepName, e.getMessage());
+            return previous;
+        } finally {
+            run.addCheckpointMillis(millisSince(start));
+        }
+    }
+
+    /**
+     * Whether the run can resume from a checkpoint after the step at failedIndex failed: every checkpointed
+     * step from the resume point up to and including the failed one must be safe to run again
+     */
+    private boolean canResume(Checkpoint checkpoint, int failedIndex) {
+        int resumeIndex = checkpoint == null ? 0 : checkpoint.getStepIndex() + 1;
+        for (int i = resumeIndex; i <= failedIndex; i++) {
+            Step step = steps.get(i);
+            if (!step.replayable) {
+                logger.warn("Workflow {}: not resuming, step '{}' must not run twice", name, step.name);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int resume(WorkflowRun run, WorkflowContext context, Checkpoint checkpoint, long[] stepMillis,
+                       String failedStep, WebDriverException failure) {
+        int resumeIndex = checkpoint == null ? 0 : checkpoint.getStepIndex() + 1;
+        long start = System.nanoTime();
+        context.restore(checkpoint);
+        // The restored page is freshly loaded, so the page steps before the resume point are applied again
+        for (int i = 0; i < resumeIndex; i++) {
+            Step step = steps.get(i);
+            if (!step.checkpointed) {
+                long replayStart = System.nanoTime();
+                try {
+                    step.action.run(context);
+                } catch (RuntimeException | Error e) {
+                    run.recordStep(step.name, millisSince(replayStart), false);
+                    throw e;
+                }
+                run.recordStep(step.name, millisSince(replayStart), true);
+            }
+        }
+        long restoreMillis = millisSince(start);
+
+        // A restart would have repeated every checkpointed step up to the checkpoint; resuming only costs
+        // the restore and the replayed page steps
+        long skippedMillis = 0;
+        for (int i = 0; i < resumeIndex; i++) {
+            if (steps.get(i).checkpointed) {
+                skippedMillis += stepMillis[i];
+            }
+        }
+        run.recordResume(failedStep, checkpoint == null ? null : checkpoint.getStepName(), skippedMillis, restoreMillis);
+        logger.warn("Workflow {}: step '{}' failed ({}); resuming after '{}', skipping {} ms of steps for a {} ms restore",
+                name, failedStep, failure.getClass().getSimpleName(),
+                checkpoint == null ? "start" : checkpoint.getStepName(), skippedMillis, restoreMillis);
+        return resumeIndex;
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Body of a workflow step
+     */
+    @FunctionalInterface
+    public interface StepAction {
+        void run(WorkflowContext context);
+    }
+
+    private static final class Step {
+        private final String name;
+        private final StepAction action;
+        private final boolean checkpointed;
+        private final boolean replayable;
+
+        private Step(String name, StepAction action, boolean checkpointed, boolean replayable) {
+            this.name = name;
+            this.action = action;
+            this.checkpointed = checkpointed;
+            this.replayable = replayable;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ca.epbc.qa.workflow;
+
+import ca.epbc.qa.fixtures.SessionSnapshot;
+import ca.epbc.qa.pages.BasePage;
+import ca.epbc.qa.utils.TestUser;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * What workflow steps share: the driver, the test user, recorded values and the current page object.
+ * Values are saved in every checkpoint; the page object is not, so after a resume the next step gets a
+ * fresh page object for the restored URL.
+ */
+public class WorkflowContext {
+    private final WebDriver driver;
+    private final TestUser user;
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private BasePage currentPage;
+
+    WorkflowContext(WebDriver driver, TestUser user) {
+        this.driver = driver;
+        this.user = user;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public TestUser getUser() {
+        return user;
+    }
+
+    /**
+     * Records a value produced by the current step; it is part of the next checkpoint
+     * @param key Value name, e.g. selectedProgram
+     * @param value Value
+     */
+    public void put(String key, String value) {
+        values.put(key, value);
+    }
+
+    /**
+     * Gets a value recorded by this or an earlier step
+     * @param key Value name
+     * @return Value, or null if never recorded
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Sets the page object the browser is on, for the next step to continue from
+     * @param page Current page object
+     */
+    public void setPage(BasePage page) {
+        this.currentPage = page;
+    }
+
+    /**
+     * Gets the current page object, or builds one for the page the browser is on when the previous step's page
+     * object is unavailable (after a resume) or of another type
+     * @param type Expected page object type
+     * @param factory Page object constructor, e.g. SearchResultsPage::new
+     * @param <T> Page object type
+     * @return Page object that is ready for use
+     */
+    public <T extends BasePage> T page(Class<T> type, Function<WebDriver, T> factory) {
+        if (type.isInstance(currentPage)) {
+            return type.cast(currentPage);
+        }
+        T page = factory.apply(driver);
+        page.waitUntilReady();
+        currentPage = page;
+        return page;
+    }
+
+    /**
+     * Captures the browser session, URL and recorded values after a step
+     * @param stepIndex Position of the step
+     * @param stepName Step name
+     * @return Checkpoint of the current state
+     */
+    Checkpoint checkpoint(int stepIndex, String stepName) {
+        SessionSnapshot session = SessionSnapshot.capture(driver, user);
+        return new Checkpoint(stepIndex, stepName, session, driver.getCurrentUrl(), values);
+    }
+
+    Map<String, String> values() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Restores the browser and the recorded values to a checkpoint, or clears the values to start over
+     * @param checkpoint Checkpoint to restore, or null for the start of the workflow
+     */
+    void restore(Checkpoint checkpoint) {
+        if (checkpoint != null) {
+            restoreBrowser(checkpoint);
+        }
+        values.clear();
+        currentPage = null;
+        if (checkpoint != null) {
+            values.putAll(checkpoint.getValues());
+        }
+    }
+
+    /**
+     * Puts the checkpoint's session back into the browser and reopens its page
+     * @param checkpoint Checkpoint to restore
+     */
+    void restoreBrowser(Checkpoint checkpoint) {
+        checkpoint.getSession().restoreInto(driver);
+        driver.get(checkpoint.getUrl());
+    }
+}
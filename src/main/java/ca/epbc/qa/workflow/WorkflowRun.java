@@ -0,0 +1,105 @@
+package ca.epbc.qa.workflow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one workflow run: every step attempt with its duration, the resumes and the time they saved
+ */
+public class WorkflowRun {
+    private final String workflow;
+    private final List<Map<String, Object>> stepAttempts = new ArrayList<>();
+    private final List<Map<String, Object>> resumes = new ArrayList<>();
+    private long checkpointMillis;
+    private long totalMillis;
+    private boolean passed;
+
+    WorkflowRun(String workflow) {
+        this.workflow = workflow;
+    }
+
+    void recordStep(String step, long millis, boolean succeeded) {
+        Map<String, Object> attempt = new LinkedHashMap<>();
+        attempt.put("step", step);
+        attempt.put("millis", millis);
+        attempt.put("succeeded", succeeded);
+        stepAttempts.add(attempt);
+    }
+
+    void recordResume(String failedStep, String fromCheckpoint, long skippedMillis, long restoreMillis) {
+        Map<String, Object> resume = new LinkedHashMap<>();
+        resume.put("failedStep", failedStep);
+        resume.put("fromCheckpoint", fromCheckpoint == null ? "start" : fromCheckpoint);
+        resume.put("skippedMillis", skippedMillis);
+        resume.put("restoreMillis", restoreMillis);
+        resume.put("savedMillis", skippedMillis - restoreMillis);
+        resumes.add(resume);
+    }
+
+    void addCheckpointMillis(long millis) {
+        checkpointMillis += millis;
+    }
+
+    void finish(boolean passed, long totalMillis) {
+        this.passed = passed;
+        this.totalMillis = totalMillis;
+    }
+
+    public String getWorkflow() {
+        return workflow;
+    }
+
+    public List<Map<String, Object>> getStepAttempts() {
+        return Collections.unmodifiableList(stepAttempts);
+    }
+
+    public List<Map<String, Object>> getResumes() {
+        return Collections.unmodifiableList(resumes);
+    }
+
+    /**
+     * Gets the time spent capturing checkpoints, the overhead paid for being able to resume
+     * @return Checkpoint capture time in milliseconds
+     */
+    public long getCheckpointMillis() {
+        return checkpointMillis;
+    }
+
+    /**
+     * Gets the step time a full restart would have repeated, minus the time spent restoring checkpoints
+     * @return Milliseconds saved by resuming
+     */
+    public long getSavedMillis() {
+        return resumes.stream().mapToLong(resume -> (Long) resume.get("savedMillis")).sum();
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("workflow", workflow);
+        json.put("passed", passed);
+        json.put("totalMillis", totalMillis);
+        json.put("checkpointMillis", checkpointMillis);
+        json.put("savedMillis", getSavedMillis());
+        json.put("resumes", resumes);
+        json.put("steps", stepAttempts);
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s in %d ms: %d step attempts, %d resumes saving %d ms, %d ms checkpointing",
+                workflow, passed ? "passed" : "failed", totalMillis, stepAttempts.size(), resumes.size(),
+                getSavedMillis(), checkpointMillis);
+    }
+}
@@ -0,0 +1,73 @@
+package ca.epbc.qa.workflow;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects workflow runs across test threads and reports the resumes and the time they saved
+ */
+public final class WorkflowStats {
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowStats.class);
+    private static final ConcurrentLinkedQueue<WorkflowRun> runs = new ConcurrentLinkedQueue<>();
+
+    private WorkflowStats() {
+    }
+
+    static void record(WorkflowRun run) {
+        runs.add(run);
+    }
+
+    /**
+     * Gets every run recorded so far
+     * @return Copy of the recorded runs
+     */
+    public static List<WorkflowRun> runs() {
+        return new ArrayList<>(runs);
+    }
+
+    /**
+     * Logs a summary and writes every run to workflow.report.file (default target/workflow-report.json).
+     * Does nothing when no workflow ran.
+     */
+    public static void writeReport() {
+        List<WorkflowRun> all = runs();
+        if (all.isEmpty()) {
+            return;
+        }
+        long resumes = all.stream().mapToLong(run -> run.getResumes().size()).sum();
+        long savedMillis = all.stream().mapToLong(WorkflowRun::getSavedMillis).sum();
+        long checkpointMillis = all.stream().mapToLong(WorkflowRun::getCheckpointMillis).sum();
+        logger.info("Workflows: {} runs, {} resumes saved {} ms of repeated steps ({} ms spent checkpointing)",
+                all.size(), resumes, savedMillis, checkpointMillis);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("resumes", resumes);
+        report.put("savedMillis", savedMillis);
+        report.put("checkpointMillis", checkpointMillis);
+        List<Map<String, Object>> rows = new ArrayList<>(all.size());
+        all.forEach(run -> rows.add(run.toJson()));
+        report.put("runs", rows);
+        Path file = Paths.get(System.getProperty("workflow.report.file", "target/workflow-report.json"));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, new Json().toJson(report));
+        } catch (IOException e) {
+            logger.warn("Could not write workflow report to {}: {}", file, e.getMessage());
+        }
+    }
+}
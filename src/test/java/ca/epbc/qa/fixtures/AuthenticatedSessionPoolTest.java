@@ -0,0 +1,53 @@
+package ca.epbc.qa.fixtures;
+
+import ca.epbc.qa.api.EpbcApiClient;
+import ca.epbc.qa.stub.EpbcStubServer;
+import ca.epbc.qa.utils.TestDataGenerator;
+import ca.epbc.qa.utils.TestUser;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Checks how {@link AuthenticatedSessionPool} returns accounts whose My List is cleared over HTTP, against the
+ * local stub server; needs no browser
+ */
+public class AuthenticatedSessionPoolTest {
+    private final EpbcStubServer stub = new EpbcStubServer(50);
+    private String baseUrl;
+    
+    @BeforeClass
+    public void startStub() {
+        baseUrl = stub.start();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        stub.stop();
+    }
+    
+    @Test(description = "A released account has its My List emptied over HTTP and goes back into the pool")
+    public void testReleaseClearsMyListViaApi() {
+        TestUser user = TestDataGenerator.newUser();
+        EpbcApiClient api = new EpbcApiClient(baseUrl);
+        api.createAccount(user);
+        api.addToMyList(api.searchPrograms("UBC").get(0).getProgramId());
+        
+        AuthenticatedSessionPool pool = new AuthenticatedSessionPool(baseUrl, Duration.ofMinutes(30), true);
+        pool.release(null, api.toSessionSnapshot(user), false);
+        
+        Assert.assertTrue(api.getMyList().isEmpty(), "My List should be empty after release");
+        Assert.assertTrue(pool.metricsSummary().contains("discards=0, idleAccounts=1"), pool.metricsSummary());
+    }
+    
+    @Test(description = "An account whose My List cannot be cleared is dropped from the pool")
+    public void testUnknownAccountIsDropped() {
+        AuthenticatedSessionPool pool = new AuthenticatedSessionPool(baseUrl, Duration.ofMinutes(30), true);
+        pool.release(null, new EpbcApiClient(baseUrl).toSessionSnapshot(TestDataGenerator.newUser()), false);
+        
+        Assert.assertTrue(pool.metricsSummary().contains("discards=1, idleAccounts=0"), pool.metricsSummary());
+    }
+}
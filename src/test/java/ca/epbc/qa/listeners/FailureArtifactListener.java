@@ -0,0 +1,305 @@
+package ca.epbc.qa.listeners;
+
+import ca.epbc.qa.utils.DriverFactory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Captures the browser state of a failed test (screenshot, page source, URL/title, browser log and the
+ * failure itself) right after the test method, before the driver is released, and links the artifacts
+ * into the TestNG report once they are on disk. The test thread only takes the raw snapshot; decoding,
+ * compression and disk writes run on a bounded background executor. When its queue is full the test thread
+ * waits briefly and then keeps only the failure text, and no artifacts are written once the compressed
+ * bytes on disk reach the per-run size cap.
+ * Configured with the artifacts.* system properties.
+ */
+public class FailureArtifactListener implements IInvokedMethodListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(FailureArtifactListener.class);
+    private static final String PAGE_STATE_SCRIPT =
+            "return { url: location.href, title: document.title, source: document.documentElement.outerHTML };";
+    
+    private final Path runDirectory = Paths.get(System.getProperty("artifacts.dir", "target/failure-artifacts"),
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+    private final long maxRunBytes = Long.getLong("artifacts.maxRunBytes", 100L * 1024 * 1024);
+    private final long offerTimeoutMillis = Long.getLong("artifacts.offerTimeoutMillis", 250L);
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicInteger failuresCaptured = new AtomicInteger();
+    private final AtomicInteger snapshotsDegraded = new AtomicInteger();
+    private final AtomicInteger artifactsSkipped = new AtomicInteger();
+    private final AtomicLong maxSnapshotMillis = new AtomicLong();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private ThreadPoolExecutor executor;
+    
+    @Override
+    public void onStart(ISuite suite) {
+        executor();
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || result.getStatus() != ITestResult.FAILURE) {
+            return;
+        }
+        long start = System.nanoTime();
+        Path directory = runDirectory.resolve(String.format("%03d-%s.%s", sequence.incrementAndGet(),
+                result.getTestClass().getRealClass().getSimpleName(), result.getMethod().getMethodName()));
+        boolean withinCap = bytesWritten.get() < maxRunBytes;
+        FailureSnapshot snapshot = FailureSnapshot.take(result, withinCap ? DriverFactory.getDriver() : null);
+        
+        if (!submit(new ArtifactWrite(result, directory, snapshot))) {
+            // Backpressure: the writers are saturated, so keep the failure text and drop the heavy artifacts
+            snapshotsDegraded.incrementAndGet();
+            new ArtifactWrite(result, directory, snapshot.withoutBrowserState()).run();
+        }
+        failuresCaptured.incrementAndGet();
+        
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        maxSnapshotMillis.accumulateAndGet(millis, Math::max);
+        logger.info("Failure artifacts for {} queued in {} ms: {}", result.getMethod().getMethodName(), millis,
+                directory.toAbsolutePath());
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        ThreadPoolExecutor pool;
+        synchronized (this) {
+            pool = executor;
+            executor = null;
+        }
+        if (pool == null) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(Long.getLong("artifacts.drainSeconds", 60L), TimeUnit.SECONDS)) {
+                logger.warn("Failure artifact writers did not finish; {} writes abandoned", pool.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failuresCaptured.get() > 0) {
+            logger.info("Failure artifacts: {} failures, {} KB written, {} degraded by backpressure, "
+                            + "{} artifacts over the run cap, slowest snapshot {} ms",
+                    failuresCaptured.get(), bytesWritten.get() / 1024, snapshotsDegraded.get(),
+                    artifactsSkipped.get(), maxSnapshotMillis.get());
+        }
+    }
+    
+    private synchronized ThreadPoolExecutor executor() {
+        if (executor == null) {
+            int threads = Integer.getInteger("artifacts.threads", 2);
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Integer.getInteger("artifacts.queueSize", 16)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "failure-artifacts-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, pool) -> {
+                        throw new RejectedExecutionException("Failure artifact queue full");
+                    });
+        }
+        return executor;
+    }
+    
+    private boolean submit(ArtifactWrite write) {
+        ThreadPoolExecutor pool = executor();
+        try {
+            if (pool.getQueue().offer(write, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                // Offering to the queue directly skips the executor's worker start-up, so make sure workers exist
+                pool.prestartAllCoreThreads();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+    
+    /**
+     * Links written artifacts into the report; called by the writer once the files exist, which is before
+     * the suite finishes and the reports are generated
+     */
+    private static void linkIntoReport(ITestResult result, List<Path> files) {
+        ITestResult previous = Reporter.getCurrentTestResult();
+        Reporter.setCurrentTestResult(result);
+        try {
+            StringBuilder links = new StringBuilder("Failure artifacts:");
+            for (Path file : files) {
+                links.append(" <a href=\"").append(file.toAbsolutePath().toUri()).append("\">")
+                        .append(file.getFileName()).append("</a>");
+            }
+            Reporter.log(links.toString());
+        } finally {
+            Reporter.setCurrentTestResult(previous);
+        }
+        List<String> paths = new ArrayList<>();
+        files.forEach(file -> paths.add(file.toAbsolutePath().toString()));
+        result.setAttribute("failureArtifacts", paths);
+    }
+    
+    /**
+     * Raw failure state, taken on the test thread with as few driver calls as possible
+     */
+    private static final class FailureSnapshot {
+        private final String failure;
+        private final Map<String, Object> pageState;
+        private final String screenshotBase64;
+        private final List<LogEntry> browserLog;
+        
+        private FailureSnapshot(String failure, Map<String, Object> pageState, String screenshotBase64,
+                                List<LogEntry> browserLog) {
+            this.failure = failure;
+            this.pageState = pageState;
+            this.screenshotBase64 = screenshotBase64;
+            this.browserLog = browserLog;
+        }
+        
+        @SuppressWarnings("unchecked")
+        static FailureSnapshot take(ITestResult result, WebDriver driver) {
+            StringWriter failure = new StringWriter();
+            failure.append(result.getTestClass().getName()).append('.').append(result.getMethod().getMethodName())
+                    .append(System.lineSeparator());
+            if (result.getThrowable() != null) {
+                result.getThrowable().printStackTrace(new PrintWriter(failure));
+            }
+            if (driver == null) {
+                return new FailureSnapshot(failure.toString(), null, null, null);
+            }
+            
+            Map<String, Object> pageState = null;
+            String screenshot = null;
+            List<LogEntry> browserLog = null;
+            try {
+                pageState = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(PAGE_STATE_SCRIPT);
+            } catch (WebDriverException | ClassCastException e) {
+                failure.append("Page state unavailable: ").append(e.getClass().getSimpleName());
+            }
+            try {
+                screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+            } catch (WebDriverException | ClassCastException e) {
+                failure.append("Screenshot unavailable: ").append(e.getClass().getSimpleName());
+            }
+            try {
+                browserLog = driver.manage().logs().get(LogType.BROWSER).getAll();
+            } catch (WebDriverException | UnsupportedOperationException e) {
+                // Only Chromium exposes the browser log
+            }
+            return new FailureSnapshot(failure.toString(), pageState, screenshot, browserLog);
+        }
+        
+        FailureSnapshot withoutBrowserState() {
+            return new FailureSnapshot(failure, null, null, null);
+        }
+    }
+    
+    /**
+     * Decodes, compresses and writes one snapshot, then links the files that were written
+     */
+    private final class ArtifactWrite implements Runnable {
+        private final ITestResult result;
+        private final Path directory;
+        private final FailureSnapshot snapshot;
+        private final List<Path> written = new ArrayList<>();
+        
+        private ArtifactWrite(ITestResult result, Path directory, FailureSnapshot snapshot) {
+            this.result = result;
+            this.directory = directory;
+            this.snapshot = snapshot;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                Files.createDirectories(directory);
+                StringBuilder failure = new StringBuilder(snapshot.failure);
+                if (snapshot.pageState != null) {
+                    failure.append(System.lineSeparator()).append("URL: ").append(snapshot.pageState.get("url"))
+                            .append(System.lineSeparator()).append("Title: ").append(snapshot.pageState.get("title"));
+                }
+                write("failure.txt", failure.toString().getBytes(StandardCharsets.UTF_8), false);
+                if (snapshot.screenshotBase64 != null) {
+                    write("screenshot.png", Base64.getDecoder().decode(snapshot.screenshotBase64), false);
+                }
+                if (snapshot.pageState != null) {
+                    write("page-source.html.gz",
+                            String.valueOf(snapshot.pageState.get("source")).getBytes(StandardCharsets.UTF_8), true);
+                }
+                if (snapshot.browserLog != null && !snapshot.browserLog.isEmpty()) {
+                    StringBuilder log = new StringBuilder();
+                    snapshot.browserLog.forEach(entry -> log.append(entry).append(System.lineSeparator()));
+                    write("browser-log.txt.gz", log.toString().getBytes(StandardCharsets.UTF_8), true);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not write failure artifacts to {}: {}", directory, e.getMessage());
+            }
+            linkIntoReport(result, written);
+        }
+        
+        private void write(String name, byte[] content, boolean gzip) throws IOException {
+            byte[] bytes = gzip ? gzip(content) : content;
+            // Bytes are counted as they land on disk; the failure text is always kept, everything else
+            // is skipped once the per-run cap is reached
+            long total = bytesWritten.addAndGet(bytes.length);
+            if (!"failure.txt".equals(name) && total > maxRunBytes) {
+                bytesWritten.addAndGet(-bytes.length);
+                artifactsSkipped.incrementAndGet();
+                logger.warn("Skipping {} in {}: run artifact cap of {} KB reached", name, directory, maxRunBytes / 1024);
+                return;
+            }
+            Path file = directory.resolve(name);
+            try {
+                Files.write(file, bytes);
+            } catch (IOException e) {
+                bytesWritten.addAndGet(-bytes.length);
+                throw e;
+            }
+            written.add(file);
+        }
+        
+        private byte[] gzip(byte[] content) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4 + 64);
+            try (OutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(content);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
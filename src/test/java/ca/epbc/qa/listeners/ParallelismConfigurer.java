@@ -0,0 +1,35 @@
+package ca.epbc.qa.listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies the parallel and threadCount system properties to every suite before it runs.
+ * threadCount defaults to the number of available cores.
+ */
+public class ParallelismConfigurer implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelismConfigurer.class);
+    
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String parallel = System.getProperty("parallel");
+        int threadCount = Integer.getInteger("threadCount", Runtime.getRuntime().availableProcessors());
+        
+        for (XmlSuite suite : suites) {
+            if (parallel != null && !parallel.isBlank()) {
+                XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(parallel);
+                if (mode == null) {
+                    throw new IllegalArgumentException("Unsupported parallel mode: " + parallel);
+                }
+                suite.setParallel(mode);
+            }
+            suite.setThreadCount(threadCount);
+            logger.info("Suite '{}' running with parallel={} thread-count={}",
+                    suite.getName(), suite.getParallel(), suite.getThreadCount());
+        }
+    }
+}
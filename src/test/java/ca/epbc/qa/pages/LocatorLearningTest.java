@@ -0,0 +1,76 @@
+package ca.epbc.qa.pages;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Checks the frequency-based candidate ordering of {@link LocatorLearning} and {@link SmartLocator}; needs no browser
+ */
+public class LocatorLearningTest {
+    
+    private static String newKey() {
+        return LocatorLearning.key("LocatorLearningTest", UUID.randomUUID().toString());
+    }
+    
+    @Test(description = "Without hits candidates are tried in declared order")
+    public void testDeclaredOrderWithoutHits() {
+        Assert.assertEquals(LocatorLearning.lookupOrder(newKey(), 3), new int[] {0, 1, 2});
+    }
+    
+    @Test(description = "The most frequent candidate is tried first")
+    public void testMostFrequentCandidateFirst() {
+        String key = newKey();
+        LocatorLearning.recordHit(key, 2, 3);
+        LocatorLearning.recordHit(key, 2, 3);
+        Assert.assertEquals(LocatorLearning.lookupOrder(key, 3), new int[] {2, 0, 1});
+    }
+    
+    @Test(description = "A single flaky match does not displace the usual candidate")
+    public void testSingleFlakyMatchDoesNotReorder() {
+        String key = newKey();
+        for (int i = 0; i < 5; i++) {
+            LocatorLearning.recordHit(key, 1, 3);
+        }
+        LocatorLearning.recordHit(key, 2, 3);
+        Assert.assertEquals(LocatorLearning.lookupOrder(key, 3)[0], 1);
+    }
+    
+    @Test(description = "Ties keep the declared order")
+    public void testTiesKeepDeclaredOrder() {
+        String key = newKey();
+        LocatorLearning.recordHit(key, new int[] {2, 0, 1}, 2);
+        LocatorLearning.recordHit(key, new int[] {0, 2, 1}, 0);
+        Assert.assertEquals(LocatorLearning.lookupOrder(key, 3), new int[] {0, 2, 1});
+    }
+    
+    @Test(description = "A favourite that stops matching is demoted within a few lookups however many hits it had")
+    public void testStaleFavouriteIsDemoted() {
+        String key = newKey();
+        for (int i = 0; i < 1_000; i++) {
+            LocatorLearning.recordHit(key, 0, 2);
+        }
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(LocatorLearning.lookupOrder(key, 2)[0], 0);
+            LocatorLearning.recordHit(key, 1, 2);
+        }
+        Assert.assertEquals(LocatorLearning.lookupOrder(key, 2), new int[] {1, 0});
+    }
+    
+    @Test(description = "A locator whose candidates may select different elements keeps its declared order")
+    public void testFallbackLocatorKeepsDeclaredOrder() {
+        String name = UUID.randomUUID().toString();
+        By apply = By.xpath("//button[contains(text(), 'Apply')]");
+        By filter = By.xpath("//button[contains(text(), 'Filter')]");
+        SmartLocator locator = new SmartLocator("LocatorLearningTest", name, false, apply, filter);
+        for (int i = 0; i < 5; i++) {
+            locator.recordHit(filter);
+        }
+        Assert.assertEquals(locator.orderedCandidates(), List.of(apply, filter));
+        Assert.assertEquals(LocatorLearning.lookupOrder(LocatorLearning.key("LocatorLearningTest", name), 2)[0], 1,
+                "Hits are still counted for the fallback report");
+    }
+}
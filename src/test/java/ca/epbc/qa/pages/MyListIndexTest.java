@@ -0,0 +1,75 @@
+package ca.epbc.qa.pages;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks name normalization, membership and expected-versus-actual diffs of {@link MyListIndex}; needs no browser
+ */
+public class MyListIndexTest {
+    private static final ProgramRecord COMPUTER_SCIENCE = new ProgramRecord(0, "p-101",
+            "Computer Science Co-op", "University of British Columbia",
+            "Computer Science Co-op\nUniversity of British Columbia\nBachelor's degree");
+    private static final ProgramRecord NURSING = new ProgramRecord(1, "p-202",
+            "Bachelor’s of Science in Nursing", "Thompson Rivers University",
+            "Bachelor’s of Science in Nursing\nThompson Rivers University");
+    private static final ProgramRecord DESIGN = new ProgramRecord(2, null,
+            "Interaction Design", "University of British Columbia", "Interaction Design\nUniversity of British Columbia");
+
+    private static MyListIndex newIndex() {
+        return new MyListIndex(List.of(COMPUTER_SCIENCE, NURSING, DESIGN));
+    }
+
+    @Test(description = "Typographic quotes and dashes, spacing, case and compatibility forms are folded")
+    public void testNormalize() {
+        Assert.assertEquals(MyListIndex.normalize("  Bachelor’s   of  SCIENCE\t"), "bachelor's of science");
+        Assert.assertEquals(MyListIndex.normalize("“Applied” Arts – Media"), "\"applied\" arts - media");
+        Assert.assertEquals(MyListIndex.normalize("ＵＢＣ Co‐op"), "ubc co-op");
+        Assert.assertEquals(MyListIndex.normalize(null), "");
+    }
+
+    @Test(description = "A straight apostrophe matches a name shown with a curly one")
+    public void testApostropheVariantsMatch() {
+        MyListIndex index = newIndex();
+        Assert.assertTrue(index.contains("Bachelor's of Science in Nursing"));
+        Assert.assertTrue(index.containsName("bachelor`s of science in nursing"));
+        Assert.assertEquals(index.countByName("Bachelor's of Science in Nursing"), 1);
+    }
+
+    @Test(description = "Programs match by id, exact name or the first line of their card text")
+    public void testContains() {
+        MyListIndex index = newIndex();
+        Assert.assertTrue(index.contains("p-101"));
+        Assert.assertTrue(index.containsProgramId("p-202"));
+        Assert.assertTrue(index.contains("interaction design"));
+        Assert.assertTrue(index.contains("Computer Science Co-op\nUniversity of British Columbia\nBachelor's degree"));
+        Assert.assertFalse(index.containsProgramId(null));
+        Assert.assertFalse(index.contains(" "));
+        Assert.assertEquals(index.countByInstitution("university of british columbia"), 2);
+    }
+
+    @Test(description = "Partial names and text from elsewhere on a card do not match")
+    public void testNoLooseMatches() {
+        MyListIndex index = newIndex();
+        Assert.assertFalse(index.contains("Computer Science"));
+        Assert.assertFalse(index.contains("Science"));
+        Assert.assertFalse(index.contains("University of British Columbia"));
+        Assert.assertFalse(index.contains("Design"));
+    }
+
+    @Test(description = "The diff lists expected names that are missing and items that were not expected")
+    public void testDiff() {
+        MyListIndex index = newIndex();
+        MyListIndex.Diff match = index.diff(List.of("Computer Science Co-op", "Bachelor's of Science in Nursing",
+                "INTERACTION DESIGN"));
+        Assert.assertTrue(match.isMatch(), match.toString());
+
+        MyListIndex.Diff diff = index.diff(List.of("Computer Science Co-op", "Marine Biology"));
+        Assert.assertFalse(diff.isMatch());
+        Assert.assertEquals(diff.getMissing(), Set.of("Marine Biology"));
+        Assert.assertEquals(diff.getUnexpected(), Set.of("Bachelor’s of Science in Nursing", "Interaction Design"));
+    }
+}
@@ -0,0 +1,126 @@
+package ca.epbc.qa.pages;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the polling of {@link WaitScheduler}: interval backoff, where checks run and how soon a ready
+ * condition is noticed; needs no browser
+ */
+public class WaitSchedulerTest {
+
+    private static String newKey() {
+        return "WaitSchedulerTest " + UUID.randomUUID();
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Test(description = "The poll interval doubles from the initial interval up to the maximum")
+    public void testBackoffDoublesUpToMaximum() {
+        List<Long> intervals = new ArrayList<>();
+        long interval = WaitScheduler.INITIAL_POLL_MILLIS;
+        for (int i = 0; i < 12; i++) {
+            intervals.add(interval);
+            interval = WaitScheduler.nextPollMillis(interval);
+        }
+        Assert.assertEquals(intervals.subList(0, 6), List.of(20L, 40L, 80L, 160L, 320L, 500L));
+        Assert.assertEquals(intervals.get(11).longValue(), WaitScheduler.MAX_POLL_MILLIS);
+    }
+
+    @Test(description = "A learned time-to-ready sets the first re-check and the longest interval, within bounds")
+    public void testLearnedTimeShapesPolling() {
+        Assert.assertEquals(WaitScheduler.firstPollMillis(null), WaitScheduler.INITIAL_POLL_MILLIS);
+        Assert.assertEquals(WaitScheduler.maxPollMillis(null), WaitScheduler.MAX_POLL_MILLIS);
+        Assert.assertEquals(WaitScheduler.firstPollMillis(800.0), 100L);
+        Assert.assertEquals(WaitScheduler.maxPollMillis(800.0), 200L);
+        Assert.assertEquals(WaitScheduler.firstPollMillis(40.0), WaitScheduler.INITIAL_POLL_MILLIS);
+        Assert.assertEquals(WaitScheduler.maxPollMillis(60_000.0), WaitScheduler.MAX_POLL_MILLIS);
+        Assert.assertEquals(WaitScheduler.nextPollMillis(100, 200), 200L);
+        Assert.assertEquals(WaitScheduler.nextPollMillis(200, 200), 200L);
+    }
+    
+    @Test(description = "A wait for a quick key keeps polling at the short interval instead of backing off")
+    public void testQuickKeyPollsAtShortInterval() {
+        String key = newKey();
+        long learnStart = System.nanoTime();
+        WaitScheduler.until(key, () -> millisSince(learnStart) >= 60, Duration.ofSeconds(5), () -> "quick");
+        
+        List<Long> checkTimes = new ArrayList<>();
+        long start = System.nanoTime();
+        Assert.expectThrows(TimeoutException.class, () -> WaitScheduler.until(key,
+                () -> checkTimes.add(millisSince(start)) && false, Duration.ofMillis(300), () -> "never"));
+        // Capped at the 20 ms floor rather than backing off to 160 ms and beyond
+        Assert.assertTrue(checkTimes.size() >= 8, "Checks: " + checkTimes);
+    }
+    
+    @Test(description = "Checks of a wait that never holds follow the backoff and stop at the timeout")
+    public void testChecksFollowBackoffUntilTimeout() {
+        List<Long> checkTimes = new ArrayList<>();
+        long start = System.nanoTime();
+        TimeoutException timeout = Assert.expectThrows(TimeoutException.class, () -> WaitScheduler.until(newKey(),
+                () -> checkTimes.add(millisSince(start)) && false, Duration.ofMillis(700), () -> "never"));
+        long waited = millisSince(start);
+
+        // Checks at about 0, 20, 60, 140, 300, 620 and 700 ms
+        Assert.assertTrue(checkTimes.size() >= 5 && checkTimes.size() <= 8, "Checks: " + checkTimes);
+        for (int i = 2; i < checkTimes.size() - 1; i++) {
+            long gap = checkTimes.get(i) - checkTimes.get(i - 1);
+            long previousGap = checkTimes.get(i - 1) - checkTimes.get(i - 2);
+            Assert.assertTrue(gap >= previousGap, "Intervals should not shrink before the deadline: " + checkTimes);
+        }
+        Assert.assertTrue(waited >= 700 && waited < 1_000, "Waited " + waited + " ms");
+        Assert.assertTrue(timeout.getMessage().contains("never"), timeout.getMessage());
+    }
+
+    @Test(description = "A condition that is already ready returns on the first check, even for a slow wait key")
+    public void testReadyConditionIsNotDeferred() {
+        String key = newKey();
+        AtomicInteger slowChecks = new AtomicInteger();
+        WaitScheduler.until(key, () -> slowChecks.incrementAndGet() >= 5, Duration.ofSeconds(5), () -> "slow");
+        Assert.assertTrue(WaitScheduler.expectedReadyMillis(key) >= 100, "A slow time-to-ready should be learned");
+
+        AtomicInteger checks = new AtomicInteger();
+        long start = System.nanoTime();
+        Assert.assertTrue(WaitScheduler.until(key, () -> checks.incrementAndGet() > 0, Duration.ofSeconds(5), () -> "ready"));
+        Assert.assertEquals(checks.get(), 1);
+        Assert.assertTrue(millisSince(start) < 50, "Ready condition took " + millisSince(start) + " ms");
+    }
+
+    @Test(description = "A condition that becomes ready early is noticed within one poll interval")
+    public void testEarlyReadinessIsNoticedWithinOneInterval() {
+        String key = newKey();
+        long slowStart = System.nanoTime();
+        WaitScheduler.until(key, () -> millisSince(slowStart) >= 600, Duration.ofSeconds(5), () -> "slow");
+
+        long start = System.nanoTime();
+        WaitScheduler.until(key, () -> millisSince(start) >= 30, Duration.ofSeconds(5), () -> "early");
+        // Ready at 30 ms falls between the checks at 20 and 60 ms
+        Assert.assertTrue(millisSince(start) < 150, "Early readiness noticed after " + millisSince(start) + " ms");
+    }
+
+    @Test(description = "Conditions run on the calling thread, and missing elements count as not yet")
+    public void testChecksRunOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        AtomicInteger checks = new AtomicInteger();
+        String value = WaitScheduler.until(newKey(), () -> {
+            Assert.assertSame(Thread.currentThread(), caller);
+            if (checks.incrementAndGet() < 3) {
+                throw new NoSuchElementException("not yet");
+            }
+            return "found";
+        }, Duration.ofSeconds(5), () -> "element");
+        Assert.assertEquals(value, "found");
+        Assert.assertEquals(checks.get(), 3);
+    }
+}
@@ -0,0 +1,74 @@
+package ca.epbc.qa.tests;
+
+import ca.epbc.qa.api.ApiException;
+import ca.epbc.qa.api.EpbcApiClient;
+import ca.epbc.qa.api.ProgramSummary;
+import ca.epbc.qa.fixtures.SessionSnapshot;
+import ca.epbc.qa.stub.EpbcStubServer;
+import ca.epbc.qa.utils.TestDataGenerator;
+import ca.epbc.qa.utils.TestUser;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Exercises the HTTP fixture client against the local stub server; needs no browser or network
+ */
+public class ApiFixtureClientTest {
+    private final EpbcStubServer stub = new EpbcStubServer(50);
+    private String baseUrl;
+    
+    @BeforeClass
+    public void startStub() {
+        baseUrl = stub.start();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        stub.stop();
+    }
+    
+    @Test(description = "Account creation, search and My List seeding through the fixture client")
+    public void testSeedMyListViaApi() {
+        EpbcApiClient api = new EpbcApiClient(baseUrl);
+        TestUser user = TestDataGenerator.newUser();
+        api.createAccount(user);
+        
+        List<ProgramSummary> programs = api.searchPrograms("UBC");
+        Assert.assertFalse(programs.isEmpty(), "Search should return UBC programs");
+        
+        ProgramSummary first = programs.get(0);
+        api.addToMyList(first.getProgramId());
+        Assert.assertEquals(api.getMyList().get(0).getProgramId(), first.getProgramId());
+        
+        api.removeFromMyList(first.getProgramId());
+        Assert.assertTrue(api.getMyList().isEmpty(), "My List should be empty after removal");
+        
+        SessionSnapshot snapshot = api.toSessionSnapshot(user);
+        Assert.assertEquals(snapshot.getCookies().size(), 1, "Snapshot should carry the session cookie");
+    }
+    
+    @Test(description = "My List endpoints reject anonymous clients")
+    public void testMyListRequiresSession() {
+        EpbcApiClient anonymous = new EpbcApiClient(baseUrl);
+        try {
+            anonymous.getMyList();
+            Assert.fail("Anonymous My List access should be rejected");
+        } catch (ApiException e) {
+            Assert.assertEquals(e.getStatusCode(), 401);
+        }
+    }
+    
+    @Test(description = "Existing accounts can sign in again with a new client")
+    public void testSignInWithExistingAccount() {
+        TestUser user = TestDataGenerator.newUser();
+        new EpbcApiClient(baseUrl).createAccount(user);
+        
+        EpbcApiClient secondClient = new EpbcApiClient(baseUrl);
+        secondClient.signIn(user);
+        Assert.assertTrue(secondClient.getMyList().isEmpty(), "Signed-in client should read its My List");
+    }
+}
@@ -1,34 +1,197 @@
 package ca.epbc.qa.tests;
 
+import ca.epbc.qa.api.EpbcApiClient;
+import ca.epbc.qa.api.ProgramSummary;
+import ca.epbc.qa.fixtures.AuthenticatedSessionPool;
+import ca.epbc.qa.fixtures.SessionSnapshot;
+import ca.epbc.qa.pages.HomePage;
+import ca.epbc.qa.pages.LocatorLearning;
+import ca.epbc.qa.pages.SearchResultsPage;
+import ca.epbc.qa.pages.SignInPage;
+import ca.epbc.qa.pages.WaitScheduler;
+import ca.epbc.qa.stub.EpbcStandInSite;
+import ca.epbc.qa.utils.BrowserProfiles;
+import ca.epbc.qa.utils.CommandLatencyStats;
 import ca.epbc.qa.utils.DriverFactory;
+import ca.epbc.qa.utils.EventLog;
+import ca.epbc.qa.utils.NetworkStats;
+import ca.epbc.qa.utils.PerformanceRecorder;
+import ca.epbc.qa.utils.ScriptTransport;
+import ca.epbc.qa.utils.TestDataGenerator;
+import ca.epbc.qa.utils.TestUser;
+import ca.epbc.qa.workflow.WorkflowStats;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
+import java.util.List;
+
 /**
- * Base test class containing common setup and teardown methods
+ * Base test class containing common setup and teardown methods.
+ * Tests may run in parallel, so all per-test state lives in thread-locals rather than instance fields.
  */
 public class BaseTest {
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
-    protected WebDriver driver;
-    protected static final String BASE_URL = "https://stg-www.educationplannerbc.ca";
+    protected static final String STAGING_URL = "https://stg-www.educationplannerbc.ca";
+    private static final ThreadLocal<TestUser> testUserThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<SessionSnapshot> sessionLeaseThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> myListChangedThreadLocal = new ThreadLocal<>();
+    private static volatile String baseUrl = STAGING_URL;
+    private static volatile EpbcStandInSite standInSite;
+    private static volatile AuthenticatedSessionPool sessionPool;
+    
+    /**
+     * Resolves the target site. The baseUrl system property wins over the suite parameter;
+     * the value "local" starts the embedded stand-in site (see EpbcStandInSite for its settings).
+     */
+    @BeforeSuite(alwaysRun = true)
+    @Parameters({"baseUrl"})
+    public void setUpSuite(@Optional(STAGING_URL) String suiteBaseUrl) {
+        String target = System.getProperty("baseUrl", suiteBaseUrl);
+        if ("local".equalsIgnoreCase(target)) {
+            standInSite = EpbcStandInSite.fromSystemProperties();
+            target = standInSite.start();
+        }
+        baseUrl = target;
+        BrowserProfiles.setWarmUpUrl(baseUrl);
+        sessionPool = new AuthenticatedSessionPool(baseUrl);
+        logger.info("Running suite against {}", baseUrl);
+    }
     
     @BeforeMethod
     @Parameters({"browser", "headless"})
     public void setUp(String browser, String headless) {
         logger.info("Setting up test with browser: {} (headless: {})", browser, headless);
         boolean isHeadless = Boolean.parseBoolean(headless);
-        driver = DriverFactory.createDriver(browser, isHeadless);
+        DriverFactory.acquireDriver(browser, isHeadless);
+        testUserThreadLocal.set(TestDataGenerator.newUser());
         logger.info("Test setup completed successfully");
     }
     
     @AfterMethod
     public void tearDown() {
         logger.info("Tearing down test");
-        DriverFactory.quitDriver();
+        boolean myListChanged = Boolean.TRUE.equals(myListChangedThreadLocal.get());
+        sessionPool.release(getDriver(), sessionLeaseThreadLocal.get(), myListChanged);
+        DriverFactory.releaseDriver();
+        sessionLeaseThreadLocal.remove();
+        myListChangedThreadLocal.remove();
+        testUserThreadLocal.remove();
         logger.info("Test teardown completed");
     }
-}
\ No newline at end of file
+    
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        DriverFactory.shutdownPools();
+        if (sessionPool != null) {
+            logger.info("Authenticated sessions: {}", sessionPool.metricsSummary());
+        }
+        if (standInSite != null) {
+            standInSite.stop();
+        }
+        LocatorLearning.logStats();
+        LocatorLearning.save();
+        WaitScheduler.logStats();
+        ScriptTransport.logStats();
+        CommandLatencyStats.export();
+        NetworkStats.logSummary();
+        PerformanceRecorder.writeReport();
+        WorkflowStats.writeReport();
+        EventLog.flush();
+    }
+    
+    /**
+     * Gets the URL of the site under test
+     * @return Base URL without a trailing slash
+     */
+    protected String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    /**
+     * Gets the WebDriver owned by the current test
+     * @return WebDriver instance
+     */
+    protected WebDriver getDriver() {
+        return DriverFactory.getDriver();
+    }
+    
+    /**
+     * Gets the user reserved for the current test
+     * @return TestUser unique to this test
+     */
+    protected TestUser getTestUser() {
+        return testUserThreadLocal.get();
+    }
+    
+    /**
+     * Fixture: opens the homepage and registers the current test's user
+     * @return HomePage after registration
+     */
+    protected HomePage signInAsNewUser() {
+        HomePage homePage = new HomePage(getDriver());
+        homePage.navigateToHomePage(getBaseUrl());
+        Assert.assertTrue(homePage.isHomePageLoaded(), "Homepage should be loaded");
+        
+        SignInPage signInPage = homePage.clickSignIn();
+        homePage = signInPage.createNewAccount(getTestUser());
+        Assert.assertTrue(signInPage.isSignInSuccessful() || homePage.isHomePageLoaded(),
+                "User should be signed in successfully");
+        return homePage;
+    }
+    
+    /**
+     * Fixture: signs the driver in as a pre-authenticated pooled account, skipping UI registration
+     * when a snapshot is available. The account becomes the current test's user; a test that adds to
+     * its My List must call {@link #markMyListChanged()} so the list is emptied before the account is reused.
+     * @return HomePage of the signed-in user
+     */
+    protected HomePage signInWithPooledSession() {
+        SessionSnapshot lease = sessionPool.acquire(getDriver());
+        sessionLeaseThreadLocal.set(lease);
+        testUserThreadLocal.set(lease.getUser());
+        return new HomePage(getDriver());
+    }
+    
+    /**
+     * Records that the current test added to its pooled account's My List
+     */
+    protected void markMyListChanged() {
+        myListChangedThreadLocal.set(Boolean.TRUE);
+    }
+    
+    /**
+     * Fixture: signs in as a user whose My List holds the first "UBC" search result.
+     * With -Dfixtures.api=true the account and list entry are created through the backend endpoints
+     * and only the resulting session is restored into the browser; otherwise the UI is used.
+     * @return Name of the saved program
+     */
+    protected String seedMyListWithProgram() {
+        if (Boolean.getBoolean("fixtures.api")) {
+            return seedMyListViaApi();
+        }
+        SearchResultsPage searchResultsPage = signInWithPooledSession().performSearch("UBC");
+        markMyListChanged();
+        String programName = searchResultsPage.addFirstProgramToMyList();
+        Assert.assertFalse(programName.isEmpty(), "Fixture should have added a program to My List");
+        return programName;
+    }
+    
+    private String seedMyListViaApi() {
+        EpbcApiClient api = new EpbcApiClient(getBaseUrl());
+        TestUser user = getTestUser();
+        api.createAccount(user);
+        List<ProgramSummary> programs = api.searchPrograms("UBC");
+        Assert.assertFalse(programs.isEmpty(), "Fixture search should return programs");
+        api.addToMyList(programs.get(0).getProgramId());
+        api.toSessionSnapshot(user).restoreInto(getDriver());
+        return programs.get(0).getName();
+    }
+}
@@ -0,0 +1,49 @@
+package ca.epbc.qa.tests;
+
+import ca.epbc.qa.pages.HomePage;
+import ca.epbc.qa.pages.SearchResultsPage;
+import ca.epbc.qa.utils.PerformanceBudget;
+import ca.epbc.qa.utils.PerformanceRecorder;
+import ca.epbc.qa.utils.TransitionMetrics;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Repeats the home load, search submit, filter apply and My List load transitions and checks their
+ * percentiles against the performance budget (performance-budget.properties or -Dperf.budget.file).
+ * The number of iterations is set with -Dperf.iterations.
+ */
+public class PerformanceBudgetTest extends BaseTest {
+    
+    @Test(description = "Page transitions stay within the performance budget over repeated iterations")
+    public void testTransitionsWithinBudget() {
+        PerformanceBudget budget = PerformanceBudget.fromSystemProperties();
+        if (budget.getLimits().isEmpty() || !PerformanceRecorder.isEnabled()) {
+            throw new SkipException("No performance budget configured or performance capture disabled");
+        }
+        int iterations = Integer.getInteger("perf.iterations", 5);
+        
+        List<TransitionMetrics> samples = PerformanceRecorder.collectOnCurrentThread();
+        try {
+            signInWithPooledSession();
+            for (int i = 1; i <= iterations; i++) {
+                HomePage homePage = new HomePage(getDriver());
+                homePage.navigateToHomePage(getBaseUrl());
+                SearchResultsPage searchResultsPage = homePage.performSearch("UBC");
+                searchResultsPage.applyAreasOfStudyFilter();
+                searchResultsPage.waitForResultsToSettle();
+                searchResultsPage.goToMyList();
+                logger.info("✓ Iteration {} of {} captured", i, iterations);
+            }
+        } finally {
+            PerformanceRecorder.stopCollecting();
+        }
+        
+        List<String> violations = budget.violations(samples);
+        Assert.assertTrue(violations.isEmpty(), "Performance budget exceeded: " + violations);
+        logger.info("✅ {} transitions within budget over {} iterations", samples.size(), iterations);
+    }
+}
@@ -0,0 +1,58 @@
+package ca.epbc.qa.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Checks the masking of sensitive values in {@link EventLog} lines and its level sampling; needs no browser
+ */
+public class EventLogTest {
+    private static final EventLog.EventType TYPED =
+            new EventLog.EventType("element.type", EventLog.Level.INFO, "locator", "text");
+    private static final EventLog.EventType LOGIN =
+            new EventLog.EventType("account.login", EventLog.Level.INFO, "email", "password");
+
+    private static String format(EventLog.EventType type, Object first, Object second) {
+        return new EventLog.LineFormatter(EventLog.SENSITIVE).format(0L, "main", type, EventLogTest.class, first, second);
+    }
+
+    @Test(description = "Text typed into a password field is masked")
+    public void testTextOfSensitiveLocatorIsMasked() {
+        String line = format(TYPED, "By.id: password", "hunter2");
+        Assert.assertFalse(line.contains("hunter2"), line);
+        Assert.assertTrue(line.contains("\"text\":\"******\""), line);
+        Assert.assertTrue(line.contains("\"locator\":\"By.id: password\""), line);
+    }
+
+    @Test(description = "A field named like a secret is masked whatever the other values are")
+    public void testSensitiveFieldIsMasked() {
+        String line = format(LOGIN, "user@example.com", "Secret123!");
+        Assert.assertTrue(line.contains("\"email\":\"user@example.com\""), line);
+        Assert.assertTrue(line.contains("\"password\":\"******\""), line);
+    }
+
+    @Test(description = "Text typed into other fields is kept and escaped")
+    public void testOrdinaryTextIsKept() {
+        String line = format(TYPED, "By.name: q", "UBC \"Computer\" Science\n");
+        Assert.assertTrue(line.contains("\"text\":\"UBC \\\"Computer\\\" Science\\u000a\""), line);
+        Assert.assertTrue(line.contains("\"source\":\"EventLogTest\""), line);
+    }
+
+    @Test(description = "Without sampling every event is kept")
+    public void testNoSamplingKeepsEverything() {
+        for (int i = 0; i < 1_000; i++) {
+            Assert.assertFalse(EventLog.sampledOut(1));
+        }
+    }
+
+    @Test(description = "Sampling one in N keeps about one event in N")
+    public void testSamplingKeepsOneInN() {
+        int kept = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (!EventLog.sampledOut(10)) {
+                kept++;
+            }
+        }
+        Assert.assertTrue(kept > 9_000 && kept < 11_000, "Kept " + kept + " of 100000");
+    }
+}
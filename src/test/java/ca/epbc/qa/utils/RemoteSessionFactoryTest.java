@@ -0,0 +1,100 @@
+package ca.epbc.qa.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks which session creation failures {@link RemoteSessionFactory} retries, against a fake grid that
+ * answers every new-session request with a fixed error; needs no browser or real grid
+ */
+public class RemoteSessionFactoryTest {
+    private static final String STATUS = "{\"value\": {\"ready\": false, \"nodes\": "
+            + "[{\"slots\": [{\"session\": {\"sessionId\": \"busy\"}}]}]}}";
+
+    private HttpServer grid;
+    private final AtomicInteger sessionRequests = new AtomicInteger();
+    private volatile String sessionError;
+
+    @BeforeMethod
+    public void startGrid() throws IOException {
+        sessionRequests.set(0);
+        grid = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        grid.createContext("/session", exchange -> {
+            sessionRequests.incrementAndGet();
+            respond(exchange, 500, "{\"value\": {\"error\": \"session not created\", \"message\": "
+                    + "\"" + sessionError + "\", \"stacktrace\": \"\"}}");
+        });
+        grid.createContext("/status", exchange -> respond(exchange, 200, STATUS));
+        grid.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopGrid() {
+        grid.stop(0);
+    }
+
+    @Test(description = "A session queue timeout is retried until the attempts run out")
+    public void testQueueTimeoutIsRetried() throws IOException {
+        sessionError = "Could not start a new session. New session request timed out";
+        assertFailsAfter(3);
+    }
+
+    @Test(description = "The queue timeout message of older grids is retried")
+    public void testLegacyQueueTimeoutIsRetried() throws IOException {
+        sessionError = "Could not start a new session. Timed out creating session";
+        assertFailsAfter(3);
+    }
+
+    @Test(description = "A node that times out starting its driver is not retried")
+    public void testDriverStartTimeoutIsNotRetried() throws IOException {
+        sessionError = "Could not start a new session. Timed out waiting for driver server to start.";
+        assertFailsAfter(1);
+    }
+
+    @Test(description = "Capabilities no node supports are not retried")
+    public void testUnsupportedCapabilitiesAreNotRetried() throws IOException {
+        sessionError = "Could not start a new session. No nodes support the capabilities in the request; "
+                + "please retry with other capabilities";
+        assertFailsAfter(1);
+    }
+
+    @Test(description = "The grid status summary counts free slots")
+    public void testDescribeStatus() throws IOException {
+        Assert.assertEquals(newFactory(1).describeStatus(), "Grid ready=false, 0 of 1 slots free");
+    }
+
+    private void assertFailsAfter(int expectedRequests) throws IOException {
+        RemoteSessionFactory factory = newFactory(3);
+        Assert.assertThrows(SessionNotCreatedException.class,
+                () -> factory.create(new ChromeOptions().addArguments("--headless=new")));
+        Assert.assertEquals(sessionRequests.get(), expectedRequests, "New-session requests sent to the grid");
+    }
+
+    private RemoteSessionFactory newFactory(int maxAttempts) throws IOException {
+        URL url = new URL("http://" + grid.getAddress().getHostString() + ":" + grid.getAddress().getPort());
+        return new RemoteSessionFactory(url, maxAttempts, 1, 1);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
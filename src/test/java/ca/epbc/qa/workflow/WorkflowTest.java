@@ -0,0 +1,160 @@
+package ca.epbc.qa.workflow;
+
+import ca.epbc.qa.fixtures.SessionSnapshot;
+import ca.epbc.qa.utils.TestUser;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks how {@link Workflow} resumes after a failed step, using a context that records checkpoints and
+ * restores instead of driving a browser; needs no browser
+ */
+public class WorkflowTest {
+    private static final TestUser USER = new TestUser("Test", "User", "test.user@example.com", "Secret123!");
+
+    @Test(description = "A failed step resumes from the last checkpoint without repeating earlier steps")
+    public void testResumesFromLastCheckpoint() {
+        FakeContext context = new FakeContext();
+        FailOnce failure = new FailOnce();
+        WorkflowRun run = Workflow.named("resume")
+                .step("open", ctx -> context.ran("open"))
+                .step("search", ctx -> {
+                    context.ran("search");
+                    ctx.put("query", "UBC");
+                })
+                .step("verify", ctx -> {
+                    context.ran("verify");
+                    failure.failFirstTime();
+                    Assert.assertEquals(ctx.get("query"), "UBC", "Values of the checkpoint are restored");
+                })
+                .run(context);
+
+        Assert.assertTrue(run.isPassed());
+        Assert.assertEquals(context.executed, List.of("open", "search", "verify", "verify"));
+        Assert.assertEquals(context.restored, List.of("search"));
+        Assert.assertEquals(run.getResumes().get(0).get("fromCheckpoint"), "search");
+    }
+
+    @Test(description = "Every page step before the checkpoint is replayed on the restored page")
+    public void testReplaysPageStepsBeforeCheckpoint() {
+        FakeContext context = new FakeContext();
+        FailOnce failure = new FailOnce();
+        WorkflowRun run = Workflow.named("replay")
+                .step("search", ctx -> context.ran("search"))
+                .pageStep("filter", ctx -> context.ran("filter"))
+                .step("add", ctx -> context.ran("add"))
+                .step("verify", ctx -> {
+                    context.ran("verify");
+                    failure.failFirstTime();
+                })
+                .run(context);
+
+        Assert.assertTrue(run.isPassed());
+        Assert.assertEquals(context.executed, List.of("search", "filter", "add", "verify", "filter", "verify"));
+        Assert.assertEquals(context.restored, List.of("add"));
+    }
+
+    @Test(description = "A step that must not run twice is not retried after it fails")
+    public void testFailedOnceStepIsNotRetried() {
+        FakeContext context = new FakeContext();
+        Workflow workflow = Workflow.named("once")
+                .step("open", ctx -> context.ran("open"))
+                .onceStep("sign in", ctx -> {
+                    context.ran("sign in");
+                    throw new WebDriverException("Connection reset");
+                });
+
+        Assert.assertThrows(WebDriverException.class, () -> workflow.run(context));
+        Assert.assertEquals(context.executed, List.of("open", "sign in"));
+        Assert.assertTrue(context.restored.isEmpty(), "No checkpoint should have been restored");
+    }
+
+    @Test(description = "A resume that would repeat a completed step that must not run twice is not attempted")
+    public void testDoesNotResumeBeforeCompletedOnceStep() {
+        FakeContext context = new FakeContext();
+        context.failCheckpointAfter.add("sign in");
+        FailOnce failure = new FailOnce();
+        Workflow workflow = Workflow.named("once-uncheckpointed")
+                .step("open", ctx -> context.ran("open"))
+                .onceStep("sign in", ctx -> context.ran("sign in"))
+                .step("search", ctx -> {
+                    context.ran("search");
+                    failure.failFirstTime();
+                });
+
+        Assert.assertThrows(WebDriverException.class, () -> workflow.run(context));
+        Assert.assertEquals(context.executed, List.of("open", "sign in", "search"));
+        Assert.assertTrue(context.restored.isEmpty(), "No checkpoint should have been restored");
+    }
+
+    @Test(description = "A step after a checkpointed step that must not run twice still resumes")
+    public void testResumesAfterCheckpointedOnceStep() {
+        FakeContext context = new FakeContext();
+        FailOnce failure = new FailOnce();
+        WorkflowRun run = Workflow.named("once-checkpointed")
+                .onceStep("sign in", ctx -> context.ran("sign in"))
+                .step("search", ctx -> {
+                    context.ran("search");
+                    failure.failFirstTime();
+                })
+                .run(context);
+
+        Assert.assertTrue(run.isPassed());
+        Assert.assertEquals(context.executed, List.of("sign in", "search", "search"));
+        Assert.assertEquals(context.restored, List.of("sign in"));
+    }
+
+    /**
+     * Throws a WebDriverException on its first call only
+     */
+    private static final class FailOnce {
+        private boolean failed;
+
+        void failFirstTime() {
+            if (!failed) {
+                failed = true;
+                throw new WebDriverException("Transient failure");
+            }
+        }
+    }
+
+    /**
+     * Context that checkpoints without a browser and records what ran and what was restored
+     */
+    private static final class FakeContext extends WorkflowContext {
+        private final List<String> executed = new ArrayList<>();
+        private final List<String> restored = new ArrayList<>();
+        private final Set<String> failCheckpointAfter = new HashSet<>();
+
+        FakeContext() {
+            super(null, USER);
+        }
+
+        void ran(String step) {
+            executed.add(step);
+        }
+
+        @Override
+        Checkpoint checkpoint(int stepIndex, String stepName) {
+            if (failCheckpointAfter.contains(stepName)) {
+                throw new WebDriverException("Could not read storage");
+            }
+            SessionSnapshot session = new SessionSnapshot(USER, "http://localhost", List.of(), Map.of(), Map.of(),
+                    Instant.now());
+            return new Checkpoint(stepIndex, stepName, session, "http://localhost/" + stepName, values());
+        }
+
+        @Override
+        void restoreBrowser(Checkpoint checkpoint) {
+            restored.add(checkpoint.getStepName());
+        }
+    }
+}